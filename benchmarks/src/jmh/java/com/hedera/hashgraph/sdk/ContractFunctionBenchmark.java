@@ -0,0 +1,69 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding the parameters of a contract call and decoding the values of its result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractFunctionBenchmark {
+    final String address = "11223344556677889900aabbccddeeff00112233";
+    final BigInteger amount = BigInteger.ONE.shiftLeft(200);
+    final String[] memos = {"first", "second", "third"};
+
+    com.hedera.hashgraph.sdk.proto.ContractFunctionResult result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // what a call to function(address, uint256, string) returns when it echoes its arguments
+        var resultBytes = new ContractFunctionParameters()
+            .addAddress(address)
+            .addUint256(amount)
+            .addString("Hello, world!")
+            .toBytes(null);
+
+        result = com.hedera.hashgraph.sdk.proto.ContractFunctionResult.newBuilder()
+            .setContractCallResult(resultBytes)
+            .build();
+    }
+
+    @Benchmark
+    public ByteString encodeParameters() {
+        return new ContractFunctionParameters()
+            .addAddress(address)
+            .addUint256(amount)
+            .addString("Hello, world!")
+            .addStringArray(memos)
+            .addBool(true)
+            .toBytes("transfer");
+    }
+
+    @Benchmark
+    public void decodeResult(Blackhole blackhole) {
+        var decoded = new ContractFunctionResult(result);
+
+        blackhole.consume(decoded.getAddress(0));
+        blackhole.consume(decoded.getUint256(1));
+        blackhole.consume(decoded.getString(2));
+    }
+}
@@ -0,0 +1,73 @@
+package com.hedera.hashgraph.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keys, mnemonics and entity ID checksums.
+ *
+ * {@code verifyTransaction} checks a transfer prepared for 3 nodes, so it verifies 3 signatures.
+ * {@code mnemonicToPrivateKey} is dominated by the 2048 rounds of PBKDF2 in the BIP-39 seed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoBenchmark {
+    final byte[] message = new byte[256];
+
+    PrivateKey privateKey;
+    TransferTransaction transaction;
+    Mnemonic mnemonic;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        privateKey = PrivateKey.generate();
+        mnemonic = Mnemonic.generate24();
+
+        transaction = new TransferTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4), new AccountId(5)))
+            .setTransactionId(TransactionId.generate(new AccountId(1001)))
+            .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+            .addHbarTransfer(new AccountId(1002), new Hbar(1))
+            .freeze()
+            .sign(privateKey);
+
+        // sign for every node now so the benchmark only verifies
+        transaction.toBytes();
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return privateKey.sign(message);
+    }
+
+    @Benchmark
+    public boolean verifyTransaction() {
+        return privateKey.getPublicKey().verifyTransaction(transaction);
+    }
+
+    @Benchmark
+    public PrivateKey mnemonicToPrivateKey() throws BadMnemonicException {
+        return mnemonic.toPrivateKey();
+    }
+
+    @Benchmark
+    public String checksum() {
+        return EntityIdHelper.checksum("0", "0.0.123456");
+    }
+}
@@ -0,0 +1,99 @@
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.CryptoGetAccountBalanceResponse;
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A full {@code execute()}, from preparing the request to mapping the response, against an in-process node which
+ * answers every request with OK. Nothing leaves the JVM, so this measures the SDK rather than the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecuteBenchmark {
+    Server server;
+    Client client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = InProcessServerBuilder.forName("execute-benchmark")
+            .addService(new OkCryptoService())
+            .directExecutor()
+            .build()
+            .start();
+
+        client = Client.forNetwork(Collections.singletonMap("in-process:execute-benchmark", new AccountId(3)))
+            .setOperator(new AccountId(1001), PrivateKey.generate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws TimeoutException, InterruptedException {
+        client.close();
+        server.shutdown();
+        server.awaitTermination();
+    }
+
+    @Benchmark
+    public TransactionResponse executeTransaction() throws TimeoutException, PrecheckStatusException {
+        return new TransferTransaction()
+            .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+            .addHbarTransfer(new AccountId(1002), new Hbar(1))
+            .execute(client);
+    }
+
+    @Benchmark
+    public AccountBalance executeQuery() throws TimeoutException, PrecheckStatusException {
+        return new AccountBalanceQuery()
+            .setAccountId(new AccountId(1001))
+            .execute(client);
+    }
+
+    private static class OkCryptoService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        @Override
+        public void cryptoTransfer(
+            com.hedera.hashgraph.sdk.proto.Transaction request,
+            StreamObserver<TransactionResponse> responseObserver
+        ) {
+            responseObserver.onNext(TransactionResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+            responseObserver.onNext(Response.newBuilder()
+                .setCryptogetAccountBalance(CryptoGetAccountBalanceResponse.newBuilder()
+                    .setHeader(ResponseHeader.getDefaultInstance())
+                    .setAccountID(request.getCryptogetAccountBalance().getAccountID())
+                    .setBalance(100_000_000L))
+                .build());
+            responseObserver.onCompleted();
+        }
+    }
+}
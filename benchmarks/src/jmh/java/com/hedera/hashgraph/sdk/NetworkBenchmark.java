@@ -0,0 +1,96 @@
+package com.hedera.hashgraph.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node selection as done by every {@code freezeWith()} and {@code execute()}, run from 64 threads at once against the
+ * mainnet address book.
+ *
+ * {@code lockedSelection} holds the network's monitor for the whole selection the way it used to be done, so comparing
+ * it with {@code selection} shows how much of the cost is contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class NetworkBenchmark {
+    @Param({"ROUND_ROBIN", "POWER_OF_TWO_CHOICES", "LEAST_OUTSTANDING_REQUESTS", "LATENCY_WEIGHTED"})
+    String policy;
+
+    ExecutorService executor;
+    Network network;
+    AccountId nodeAccountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        network = Network.forMainnet(executor).setSelectionPolicy(selectionPolicy(policy));
+        nodeAccountId = new AccountId(3);
+    }
+
+    private static NodeSelectionPolicy selectionPolicy(String name) {
+        switch (name) {
+            case "POWER_OF_TWO_CHOICES":
+                return NodeSelectionPolicy.POWER_OF_TWO_CHOICES;
+            case "LEAST_OUTSTANDING_REQUESTS":
+                return NodeSelectionPolicy.LEAST_OUTSTANDING_REQUESTS;
+            case "LATENCY_WEIGHTED":
+                return NodeSelectionPolicy.LATENCY_WEIGHTED;
+            case "ROUND_ROBIN":
+            default:
+                return NodeSelectionPolicy.ROUND_ROBIN;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        network.close();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<AccountId> selection() throws InterruptedException {
+        return network.getNodeAccountIdsForExecute();
+    }
+
+    @Benchmark
+    public List<AccountId> lockedSelection() throws InterruptedException {
+        synchronized (network) {
+            return network.getNodeAccountIdsForExecute();
+        }
+    }
+
+    @Benchmark
+    public void selectionAndLookup(Blackhole blackhole) throws InterruptedException {
+        for (var accountId : network.getNodeAccountIdsForExecute()) {
+            blackhole.consume(network.getNode(accountId));
+        }
+    }
+
+    @Benchmark
+    public Node lookup() {
+        return network.getNode(nodeAccountId);
+    }
+}
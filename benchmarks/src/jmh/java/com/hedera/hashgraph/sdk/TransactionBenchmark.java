@@ -0,0 +1,68 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Preparing and serializing a transfer for the usual 1/3 of a 9 node network, signed by the operator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBenchmark {
+    Client client;
+    byte[] transactionBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var network = new HashMap<String, AccountId>();
+        for (int i = 0; i < 9; i++) {
+            // channels are only opened when a request is sent, so nothing listens on these
+            network.put("127.0.0.1:" + (50211 + i), new AccountId(3 + i));
+        }
+
+        client = Client.forNetwork(network).setOperator(new AccountId(1001), PrivateKey.generate());
+        transactionBytes = freezeWith().toBytes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws TimeoutException {
+        client.close();
+    }
+
+    @Benchmark
+    public TransferTransaction freezeWith() {
+        return new TransferTransaction()
+            .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+            .addHbarTransfer(new AccountId(1002), new Hbar(1))
+            .freezeWith(client);
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return freezeWith().signWithOperator(client).toBytes();
+    }
+
+    @Benchmark
+    public Transaction<?> fromBytes() throws InvalidProtocolBufferException {
+        return Transaction.fromBytes(transactionBytes);
+    }
+}
@@ -0,0 +1,86 @@
+package com.hedera.hashgraph.sdk;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a multisig treasury transaction: an account update signed by each of the 10 keys in a threshold key list,
+ * prepared for 28 nodes.
+ *
+ * {@code signAndBuild} signs with the real Ed25519 keys. {@code bookkeeping} signs with signers that return a fixed
+ * signature, so what is left is the cost of tracking which key has signed for which node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionSigningBenchmark {
+    private static final int KEY_COUNT = 10;
+    private static final int NODE_COUNT = 28;
+
+    final List<PrivateKey> privateKeys = new ArrayList<>(KEY_COUNT);
+    final List<AccountId> nodeAccountIds = new ArrayList<>(NODE_COUNT);
+    final byte[] fixedSignature = new byte[64];
+    KeyList keyList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keyList = KeyList.withThreshold(KEY_COUNT);
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            var privateKey = PrivateKey.generate();
+            privateKeys.add(privateKey);
+            keyList.add(privateKey.getPublicKey());
+        }
+
+        for (int i = 0; i < NODE_COUNT; i++) {
+            nodeAccountIds.add(new AccountId(3 + i));
+        }
+    }
+
+    AccountUpdateTransaction newTransaction() {
+        return new AccountUpdateTransaction()
+            .setNodeAccountIds(nodeAccountIds)
+            .setTransactionId(TransactionId.generate(new AccountId(98)))
+            .setAccountId(new AccountId(98))
+            .setKey(keyList)
+            .freeze();
+    }
+
+    @Benchmark
+    public byte[] signAndBuild() {
+        var transaction = newTransaction();
+
+        for (var privateKey : privateKeys) {
+            transaction.sign(privateKey);
+        }
+
+        return transaction.toBytes();
+    }
+
+    @Benchmark
+    public byte[] bookkeeping() {
+        var transaction = newTransaction();
+
+        for (var privateKey : privateKeys) {
+            transaction.signWith(privateKey.getPublicKey(), message -> fixedSignature);
+        }
+
+        return transaction.toBytes();
+    }
+}
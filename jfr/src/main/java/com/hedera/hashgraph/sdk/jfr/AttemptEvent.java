@@ -0,0 +1,36 @@
+package com.hedera.hashgraph.sdk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.hedera.hashgraph.sdk.Attempt")
+@Label("Attempt")
+@Category("Hedera SDK")
+@Description("An attempt of a request answered by a node, with a response or a gRPC error")
+final class AttemptEvent extends Event {
+    @Label("Node")
+    String node = "";
+
+    @Label("Method")
+    @Description("The gRPC method of the request")
+    String method = "";
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Latency")
+    @Timespan(Timespan.NANOSECONDS)
+    long latency;
+
+    @Label("Status")
+    @Description("The precheck status of the response, or empty for a gRPC error")
+    String status = "";
+
+    @Label("Retry Reason")
+    @Description("Why the request is retried, or empty if it isn't")
+    String retryReason = "";
+}
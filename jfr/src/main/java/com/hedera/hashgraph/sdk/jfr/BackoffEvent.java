@@ -0,0 +1,26 @@
+package com.hedera.hashgraph.sdk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.hedera.hashgraph.sdk.Backoff")
+@Label("Backoff")
+@Category("Hedera SDK")
+@Description("A request starts waiting before its next attempt")
+final class BackoffEvent extends Event {
+    @Label("Node")
+    @Description("The node of the attempt it waits after")
+    String node = "";
+
+    @Label("Method")
+    @Description("The gRPC method of the request")
+    String method = "";
+
+    @Label("Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    long delay;
+}
@@ -0,0 +1,25 @@
+package com.hedera.hashgraph.sdk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.hedera.hashgraph.sdk.BuildRequest")
+@Label("Build Request")
+@Category("Hedera SDK")
+@Description("The request of an attempt was built for a node, signing a transaction or the payment of a query")
+final class BuildRequestEvent extends Event {
+    @Label("Node")
+    String node = "";
+
+    @Label("Method")
+    @Description("The gRPC method of the request")
+    String method = "";
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long buildDuration;
+}
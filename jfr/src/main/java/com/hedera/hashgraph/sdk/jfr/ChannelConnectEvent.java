@@ -0,0 +1,24 @@
+package com.hedera.hashgraph.sdk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.hedera.hashgraph.sdk.ChannelConnect")
+@Label("Channel Connect")
+@Category("Hedera SDK")
+@Description("A request waited for the channel to a node to connect")
+final class ChannelConnectEvent extends Event {
+    @Label("Node")
+    String node = "";
+
+    @Label("Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long wait;
+
+    @Label("Connected")
+    boolean connected;
+}
@@ -0,0 +1,106 @@
+package com.hedera.hashgraph.sdk.jfr;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.MetricsListener;
+import com.hedera.hashgraph.sdk.Status;
+import com.hedera.hashgraph.sdk.TopicId;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link MetricsListener} which emits a Java Flight Recorder event, in the {@code Hedera SDK} category, for each
+ * attempt of a request, wait before the next attempt, node backoff, wait for a channel to connect, request built and
+ * signed for a node, and topic subscription reconnect.
+ * <p>
+ * Each event is committed on the thread which reports it, with how long the work took, or how long the wait it starts
+ * will be, in a field. This lets a recording tell apart the time a thread spends in the SDK, such as blocked on a call
+ * or sleeping before a retry. An event which is disabled in the recording settings costs little more than a check.
+ *
+ * <pre>{@code
+ * client.setMetricsListener(new JfrMetricsListener());
+ * }</pre>
+ */
+public final class JfrMetricsListener implements MetricsListener {
+    @Override
+    public void onAttempt(
+        AccountId nodeAccountId,
+        String method,
+        int attempt,
+        long latencyNanos,
+        @Nullable Status status,
+        @Nullable String retryReason
+    ) {
+        var event = new AttemptEvent();
+
+        if (event.isEnabled()) {
+            event.node = nodeAccountId.toString();
+            event.method = method;
+            event.attempt = attempt;
+            event.latency = latencyNanos;
+            event.status = status != null ? status.toString() : "";
+            event.retryReason = retryReason != null ? retryReason : "";
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onBackoff(AccountId nodeAccountId, String method, long delayMillis) {
+        var event = new BackoffEvent();
+
+        if (event.isEnabled()) {
+            event.node = nodeAccountId.toString();
+            event.method = method;
+            event.delay = delayMillis;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onNodeBackoff(AccountId nodeAccountId, long backoffMillis) {
+        var event = new NodeBackoffEvent();
+
+        if (event.isEnabled()) {
+            event.node = nodeAccountId.toString();
+            event.backoff = backoffMillis;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onChannelConnect(AccountId nodeAccountId, long waitNanos, boolean connected) {
+        var event = new ChannelConnectEvent();
+
+        if (event.isEnabled()) {
+            event.node = nodeAccountId.toString();
+            event.wait = waitNanos;
+            event.connected = connected;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onBuildRequest(AccountId nodeAccountId, String method, long durationNanos) {
+        var event = new BuildRequestEvent();
+
+        if (event.isEnabled()) {
+            event.node = nodeAccountId.toString();
+            event.method = method;
+            event.buildDuration = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void onTopicReconnect(TopicId topicId, String mirrorNode, int attempt, long delayMillis, String reason) {
+        var event = new TopicReconnectEvent();
+
+        if (event.isEnabled()) {
+            event.topic = topicId.toString();
+            event.mirrorNode = mirrorNode;
+            event.attempt = attempt;
+            event.delay = delayMillis;
+            event.reason = reason;
+            event.commit();
+        }
+    }
+}
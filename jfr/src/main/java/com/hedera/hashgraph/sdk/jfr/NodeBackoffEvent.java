@@ -0,0 +1,21 @@
+package com.hedera.hashgraph.sdk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.hedera.hashgraph.sdk.NodeBackoff")
+@Label("Node Backoff")
+@Category("Hedera SDK")
+@Description("A node is backed off after a failure, so requests avoid it until it is healthy again")
+final class NodeBackoffEvent extends Event {
+    @Label("Node")
+    String node = "";
+
+    @Label("Backoff")
+    @Timespan(Timespan.MILLISECONDS)
+    long backoff;
+}
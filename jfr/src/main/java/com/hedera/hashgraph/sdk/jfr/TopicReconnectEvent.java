@@ -0,0 +1,31 @@
+package com.hedera.hashgraph.sdk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.hedera.hashgraph.sdk.TopicReconnect")
+@Label("Topic Reconnect")
+@Category("Hedera SDK")
+@Description("A topic subscription stream failed and waits to be opened again")
+final class TopicReconnectEvent extends Event {
+    @Label("Topic")
+    String topic = "";
+
+    @Label("Mirror Node")
+    String mirrorNode = "";
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    long delay;
+
+    @Label("Reason")
+    @Description("The gRPC status code the stream failed with")
+    String reason = "";
+}
@@ -0,0 +1,170 @@
+package com.hedera.hashgraph.sdk.micrometer;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.MetricsListener;
+import com.hedera.hashgraph.sdk.Status;
+import com.hedera.hashgraph.sdk.TopicId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link MetricsListener} which records the metrics of a client to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Meters are tagged with {@code node}, the account ID of the node, and {@code method}, the gRPC method of the request:
+ * <ul>
+ *     <li>{@code hedera.sdk.attempts}: a timer of the attempts answered by each node</li>
+ *     <li>{@code hedera.sdk.prechecks}: a counter of the precheck statuses, tagged with {@code status}</li>
+ *     <li>{@code hedera.sdk.retries}: a counter of the attempts which were retried</li>
+ *     <li>{@code hedera.sdk.backoff}: a timer of the waits between attempts</li>
+ *     <li>{@code hedera.sdk.max.attempts.exceeded}: a counter of the requests which ran out of attempts, only tagged
+ *     with {@code method}</li>
+ *     <li>{@code hedera.sdk.in.flight}: a gauge of the calls in flight to each node, only tagged with {@code node}</li>
+ *     <li>{@code hedera.sdk.node.backoffs}: a counter of the times each node was backed off, only tagged with
+ *     {@code node}</li>
+ *     <li>{@code hedera.sdk.channel.connect}: a timer of the waits for the channel to each node to connect, tagged
+ *     with {@code node} and {@code connected}</li>
+ *     <li>{@code hedera.sdk.topic.reconnects}: a counter of the failed topic subscription streams opened again, only
+ *     tagged with {@code mirror.node}</li>
+ * </ul>
+ * Percentile histograms of the timers can be turned on with a {@link io.micrometer.core.instrument.config.MeterFilter}.
+ *
+ * <pre>{@code
+ * client.setMetricsListener(new MicrometerMetricsListener(registry));
+ * }</pre>
+ */
+public final class MicrometerMetricsListener implements MetricsListener {
+    private final MeterRegistry registry;
+
+    private final ConcurrentHashMap<AccountId, ConcurrentHashMap<String, Meters>> meters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> maxAttemptsExceeded = new ConcurrentHashMap<>();
+
+    // gauges only hold a weak reference to the value they report
+    private final ConcurrentHashMap<AccountId, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public MicrometerMetricsListener(MeterRegistry registry) {
+        this.registry = Objects.requireNonNull(registry, "registry must not be null");
+    }
+
+    @Override
+    public void onAttempt(
+        AccountId nodeAccountId,
+        String method,
+        int attempt,
+        long latencyNanos,
+        @Nullable Status status,
+        @Nullable String retryReason
+    ) {
+        Meters meters = getMeters(nodeAccountId, method);
+        meters.attempts.record(latencyNanos, TimeUnit.NANOSECONDS);
+
+        if (status != null) {
+            meters.getPrecheck(status).increment();
+        }
+
+        if (retryReason != null) {
+            meters.retries.increment();
+        }
+    }
+
+    @Override
+    public void onBackoff(AccountId nodeAccountId, String method, long delayMillis) {
+        getMeters(nodeAccountId, method).backoff.record(delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onMaxAttemptsExceeded(String method, int maxAttempts) {
+        maxAttemptsExceeded.computeIfAbsent(method, m -> Counter.builder("hedera.sdk.max.attempts.exceeded")
+            .description("Requests which failed with a MaxAttemptsExceededException")
+            .tag("method", m)
+            .register(registry)
+        ).increment();
+    }
+
+    @Override
+    public void onInFlight(AccountId nodeAccountId, int inFlight) {
+        this.inFlight.computeIfAbsent(nodeAccountId, node -> {
+            AtomicInteger gauge = new AtomicInteger();
+            registry.gauge("hedera.sdk.in.flight", Tags.of("node", node.toString()), gauge);
+            return gauge;
+        }).set(inFlight);
+    }
+
+    @Override
+    public void onChannelConnect(AccountId nodeAccountId, long waitNanos, boolean connected) {
+        Timer.builder("hedera.sdk.channel.connect")
+            .description("Waits for the channel to a node to connect")
+            .tag("node", nodeAccountId.toString())
+            .tag("connected", Boolean.toString(connected))
+            .register(registry)
+            .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onNodeBackoff(AccountId nodeAccountId, long backoffMillis) {
+        Counter.builder("hedera.sdk.node.backoffs")
+            .description("Times a node was backed off after a failure")
+            .tag("node", nodeAccountId.toString())
+            .register(registry)
+            .increment();
+    }
+
+    @Override
+    public void onTopicReconnect(TopicId topicId, String mirrorNode, int attempt, long delayMillis, String reason) {
+        Counter.builder("hedera.sdk.topic.reconnects")
+            .description("Topic subscription streams which failed and are opened again")
+            .tag("mirror.node", mirrorNode)
+            .register(registry)
+            .increment();
+    }
+
+    private Meters getMeters(AccountId nodeAccountId, String method) {
+        return meters.computeIfAbsent(nodeAccountId, node -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, m -> new Meters(Tags.of("node", nodeAccountId.toString(), "method", m)));
+    }
+
+    /**
+     * The meters of one node and gRPC method
+     */
+    private final class Meters {
+        private final Tags tags;
+        private final Timer attempts;
+        private final Counter retries;
+        private final Timer backoff;
+        private final ConcurrentHashMap<Status, Counter> prechecks = new ConcurrentHashMap<>();
+
+        Meters(Tags tags) {
+            this.tags = tags;
+
+            attempts = Timer.builder("hedera.sdk.attempts")
+                .description("Attempts answered by a node, with a response or a gRPC error")
+                .tags(tags)
+                .register(registry);
+
+            retries = Counter.builder("hedera.sdk.retries")
+                .description("Attempts which were retried")
+                .tags(tags)
+                .register(registry);
+
+            backoff = Timer.builder("hedera.sdk.backoff")
+                .description("Waits before the next attempt of a request")
+                .tags(tags)
+                .register(registry);
+        }
+
+        Counter getPrecheck(Status status) {
+            return prechecks.computeIfAbsent(status, s -> Counter.builder("hedera.sdk.prechecks")
+                .description("Precheck statuses of the responses of a node")
+                .tags(tags)
+                .tag("status", s.toString())
+                .register(registry));
+        }
+    }
+}
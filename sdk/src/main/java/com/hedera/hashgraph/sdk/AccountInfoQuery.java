@@ -40,6 +40,12 @@ public final class AccountInfoQuery extends Query<AccountInfo, AccountInfoQuery>
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the account, such as how many keys and tokens it has
+        return super.getCostCacheKey() + "/" + accountId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (accountId != null) {
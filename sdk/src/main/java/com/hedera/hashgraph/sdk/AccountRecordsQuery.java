@@ -40,6 +40,13 @@ public final class AccountRecordsQuery extends Query<List<TransactionRecord>, Ac
         return this;
     }
 
+    @Override
+    @Nullable
+    String getCostCacheKey() {
+        // the cost depends on how many records the account has right now, which changes with every transfer
+        return null;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (accountId != null) {
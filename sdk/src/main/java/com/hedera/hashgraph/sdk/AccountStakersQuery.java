@@ -42,6 +42,12 @@ public final class AccountStakersQuery extends Query<List<ProxyStaker>, AccountS
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on how many accounts stake to the account
+        return super.getCostCacheKey() + "/" + accountId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (accountId != null) {
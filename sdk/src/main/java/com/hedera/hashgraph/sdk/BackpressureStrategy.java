@@ -0,0 +1,25 @@
+package com.hedera.hashgraph.sdk;
+
+/**
+ * What a buffered topic subscription does with a new message when its buffer is full because the consumer has fallen
+ * behind.
+ *
+ * @see TopicMessageQuery#setBufferSize(int)
+ */
+public enum BackpressureStrategy {
+    /**
+     * Wait for the consumer to make room. The mirror node is not asked for more messages while waiting, so the
+     * stream slows down to the pace of the consumer.
+     */
+    BLOCK,
+
+    /**
+     * Drop the oldest message which has not been handed to the consumer yet to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * End the subscription and pass a {@link IllegalStateException} to the error handler.
+     */
+    ERROR
+}
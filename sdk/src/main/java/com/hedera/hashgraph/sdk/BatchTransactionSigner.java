@@ -0,0 +1,25 @@
+package com.hedera.hashgraph.sdk;
+
+import java8.util.concurrent.CompletableFuture;
+
+import java.util.List;
+
+/**
+ * Signs many transaction bodies with a single call, for keys held somewhere a round trip is expensive such as an HSM or
+ * a remote key management service.
+ * <p>
+ * A transaction prepared for several nodes has a separate body for each node, so signing it with a
+ * {@link java8.util.function.Function} costs one call per node. A batch signer is given every body it has to sign at
+ * once; for one transaction with {@link Transaction#signWithBatch(PublicKey, BatchTransactionSigner)}, or for many
+ * transactions with {@link Transaction#signAllWithBatch(List, PublicKey, BatchTransactionSigner)}.
+ */
+@FunctionalInterface
+public interface BatchTransactionSigner {
+    /**
+     * Sign each of the messages.
+     *
+     * @param messages - the transaction bodies to sign
+     * @return - a future of the signatures, in the same order as {@code messages}
+     */
+    CompletableFuture<List<byte[]>> sign(List<byte[]> messages);
+}
@@ -0,0 +1,105 @@
+package com.hedera.hashgraph.sdk;
+
+import java8.util.concurrent.CompletableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What an asynchronous request is waiting on, such as its calls in flight and the timers before its retries, so that
+ * cancelling the future of the request can stop them.
+ * <p>
+ * A {@link CompletableFuture} doesn't pass its cancellation back to the futures it was derived from, so a request
+ * {@link #track tracks} what it waits on here, and is {@link #cancelledBy cancelled by} the future it returns. Anything
+ * tracked once the request is cancelled is stopped right away.
+ */
+final class Cancellation {
+    private final List<Runnable> pending = new ArrayList<>();
+    private boolean cancelled = false;
+
+    /**
+     * @return whether the request was cancelled
+     */
+    synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancel {@code future} if the request is cancelled before it completes.
+     *
+     * @param future what the request waits on
+     * @return {@code future}
+     */
+    <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        return track(future, () -> future.cancel(false));
+    }
+
+    /**
+     * Run {@code onCancel} if the request is cancelled before {@code future} completes.
+     *
+     * @param future   what the request waits on
+     * @param onCancel stops what {@code future} waits on
+     * @return {@code future}
+     */
+    <T> CompletableFuture<T> track(CompletableFuture<T> future, Runnable onCancel) {
+        boolean added;
+
+        synchronized (this) {
+            added = !cancelled;
+
+            if (added) {
+                pending.add(onCancel);
+            }
+        }
+
+        if (!added) {
+            onCancel.run();
+            return future;
+        }
+
+        future.whenComplete((result, error) -> {
+            synchronized (this) {
+                pending.remove(onCancel);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Cancel the request once {@code future} is cancelled.
+     *
+     * @param future the future of the request returned to the caller
+     * @return {@code future}
+     */
+    <T> CompletableFuture<T> cancelledBy(CompletableFuture<T> future) {
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                cancel();
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Stop everything the request is waiting on, and anything it goes on to wait on.
+     */
+    void cancel() {
+        List<Runnable> actions;
+
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+
+            cancelled = true;
+            actions = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        for (var action : actions) {
+            action.run();
+        }
+    }
+}
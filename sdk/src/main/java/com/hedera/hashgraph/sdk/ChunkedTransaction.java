@@ -3,15 +3,25 @@ package com.hedera.hashgraph.sdk;
 import com.google.errorprone.annotations.Var;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
+import com.hedera.hashgraph.sdk.proto.SchedulableTransactionBody;
 import com.hedera.hashgraph.sdk.proto.SignatureMap;
 import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionID;
+import io.grpc.MethodDescriptor;
 import java8.util.concurrent.CompletableFuture;
+import java8.util.concurrent.CompletionException;
 import java8.util.concurrent.CompletionStage;
 import java8.util.function.Function;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -19,16 +29,38 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
 abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Transaction<T> implements WithExecuteAll {
-    private static final int CHUNK_SIZE = 1024;
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+    /**
+     * The largest transaction, signatures included, the network accepts.
+     */
+    static final int MAX_TRANSACTION_SIZE = 6144;
+    // an ed25519 or ECDSA(secp256k1) signature pair: the key, the signature and their field headers
+    private static final int SIGNATURE_PAIR_SIZE = 104;
+    // the headers of the data, body, signature map and signed transaction fields, and room for the valid start of a
+    // later chunk to take a byte more than the first
+    private static final int ENVELOPE_SIZE = 16;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    /**
+     * When set, the chunk size is worked out on freeze to fit this many signatures.
+     */
+    @Nullable
+    private Integer adaptiveChunkSizeSignatures = null;
     protected ByteString data = ByteString.EMPTY;
     /**
      * Maximum number of chunks this message will get broken up into when
      * its frozen.
      */
     private int maxChunks = 20;
+    /**
+     * Maximum number of chunks sent at once by {@link #executeAll(Client)}. Only subclasses whose chunks may reach
+     * consensus in any order let this be raised above 1.
+     */
+    int maxChunksInFlight = 1;
 
     ChunkedTransaction(LinkedHashMap<TransactionId, LinkedHashMap<AccountId, com.hedera.hashgraph.sdk.proto.Transaction>> txs) throws InvalidProtocolBufferException {
         super(txs);
@@ -70,6 +102,108 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return (T) this;
     }
 
+    T setData(Path path) throws IOException {
+        requireNotFrozen();
+        this.data = readData(path);
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
+    T setData(ReadableByteChannel channel) throws IOException {
+        requireNotFrozen();
+        this.data = readData(channel);
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
+    static ByteString readData(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readData(channel);
+        }
+    }
+
+    /**
+     * Read the rest of a channel without copying it into one array.
+     * <p>
+     * The remainder of a file is memory mapped, and the chunks only copy their part of it out of the mapping when the
+     * transaction is frozen. Any other channel is read into a rope of small buffers.
+     */
+    static ByteString readData(ReadableByteChannel channel) throws IOException {
+        if (channel instanceof FileChannel) {
+            var fileChannel = (FileChannel) channel;
+            var position = fileChannel.position();
+            var size = fileChannel.size() - position;
+
+            // the mapping stays valid once the channel is closed
+            var mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            fileChannel.position(position + size);
+
+            return UnsafeByteOperations.unsafeWrap(mapped);
+        }
+
+        return ByteString.readFrom(Channels.newInputStream(channel));
+    }
+
+    /**
+     * The number of bytes of data in each chunk. With an adaptive chunk size, this is the size worked out when the
+     * transaction was frozen.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Set the number of bytes of data in each chunk.
+     * <p>
+     * Each chunk is a transaction of its own, so larger chunks mean fewer transactions to sign, pay for and submit. A
+     * chunk, together with the rest of its transaction and its signatures, must fit in the network's limit of 6KiB,
+     * and a chunk size which leaves no room for the rest of the transaction is rejected on freeze; see
+     * {@link #setAdaptiveChunkSize(int)} to fit as much as possible.
+     *
+     * @param chunkSize the number of bytes of data in each chunk
+     * @return {@code this}
+     */
+    public T setChunkSize(int chunkSize) {
+        requireNotFrozen();
+
+        if (chunkSize <= 0 || chunkSize > MAX_TRANSACTION_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0 and at most " + MAX_TRANSACTION_SIZE);
+        }
+
+        this.chunkSize = chunkSize;
+        this.adaptiveChunkSizeSignatures = null;
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
+    /**
+     * Pack as much data into each chunk as fits in the network's limit of 6KiB per transaction.
+     * <p>
+     * The chunk size is worked out when the transaction is frozen, from the size of the rest of the transaction body
+     * and room for the given number of signatures. Signatures are added after freezing, so count every key that will
+     * sign, including the operator.
+     *
+     * @param signatureCount the number of signatures to leave room for
+     * @return {@code this}
+     */
+    public T setAdaptiveChunkSize(int signatureCount) {
+        requireNotFrozen();
+
+        if (signatureCount <= 0) {
+            throw new IllegalArgumentException("signatureCount must be greater than 0");
+        }
+
+        this.adaptiveChunkSizeSignatures = signatureCount;
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
     public int getMaxChunks() {
         return maxChunks;
     }
@@ -127,18 +261,22 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return transactionHashes;
     }
 
+    private boolean hasMultipleChunks() {
+        return isFrozen() ? transactionIds.size() > 1 : data.size() > chunkSize;
+    }
+
     @Override
     public T addSignature(PublicKey publicKey, byte[] signature) {
-        if (data.size() > CHUNK_SIZE) {
-            throw new IllegalStateException("Cannot manually add signature to chunked transaction with length greater than " + CHUNK_SIZE);
+        if (hasMultipleChunks()) {
+            throw new IllegalStateException("Cannot manually add signature to chunked transaction with more than one chunk");
         }
         return super.addSignature(publicKey, signature);
     }
 
     @Override
     public Map<AccountId, Map<PublicKey, byte[]>> getSignatures() {
-        if (data.size() > CHUNK_SIZE) {
-            throw new IllegalStateException("Cannot call getSignatures() on a chunked transaction with length greater than " + CHUNK_SIZE);
+        if (hasMultipleChunks()) {
+            throw new IllegalStateException("Cannot call getSignatures() on a chunked transaction with more than one chunk");
         }
         return super.getSignatures();
     }
@@ -183,6 +321,10 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
 
     @Override
     public List<TransactionResponse> executeAll(Client client) throws PrecheckStatusException, TimeoutException {
+        if (isPipelined()) {
+            return awaitAll(executeAllPipelinedAsync(client));
+        }
+
         freezeAndSign(client);
 
         var responses = new ArrayList<TransactionResponse>(transactionIds.size());
@@ -206,18 +348,25 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
     @Override
     @FunctionalExecutable(type = "java.util.List<TransactionResponse>")
     public CompletableFuture<List<TransactionResponse>> executeAllAsync(Client client) {
+        if (isPipelined()) {
+            return executeAllPipelinedAsync(client);
+        }
+
         freezeAndSign(client);
 
+        // cancelling the chunks cancels the chunk, or receipt query, in flight
+        var cancellation = new Cancellation();
+
         @Var
         CompletableFuture<List<com.hedera.hashgraph.sdk.TransactionResponse>> future =
             CompletableFuture.supplyAsync(() -> new ArrayList<>(transactionIds.size()));
 
         for (var i = 0; i < transactionIds.size(); i++) {
             future = future.thenCompose(list -> {
-                var responseFuture = super.executeAsync(client);
+                var responseFuture = cancellation.track(super.executeAsync(client));
 
                 Function<TransactionResponse, ? extends CompletionStage<TransactionResponse>> receiptFuture =
-                    (TransactionResponse response) -> response.getReceiptAsync(client)
+                    (TransactionResponse response) -> cancellation.track(response.getReceiptAsync(client))
                         .thenApply(receipt -> response);
 
                 Function<TransactionResponse, List<TransactionResponse>> addToList =
@@ -234,12 +383,86 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
             });
         }
 
-        return future;
+        return cancellation.cancelledBy(future);
     }
 
     @Override
     public CompletableFuture<com.hedera.hashgraph.sdk.TransactionResponse> executeAsync(Client client) {
-        return executeAllAsync(client).thenApply(responses -> responses.get(0));
+        var cancellation = new Cancellation();
+        var future = cancellation.track(executeAllAsync(client)).thenApply(responses -> responses.get(0));
+
+        return cancellation.cancelledBy(future);
+    }
+
+    private boolean isPipelined() {
+        return maxChunksInFlight > 1 && !shouldGetReceipt();
+    }
+
+    /**
+     * Send up to {@link #maxChunksInFlight} chunks at once. Each chunk is sent as a transaction of its own, so the
+     * chunks in flight don't share the node and attempt state of this transaction. Chunk {@code i} is sent once chunk
+     * {@code i - maxChunksInFlight} has been accepted, and is never sent if that chunk failed.
+     */
+    private CompletableFuture<List<TransactionResponse>> executeAllPipelinedAsync(Client client) {
+        mergeFromClient(client);
+        onExecute(client);
+
+        // cancelling the chunks cancels every chunk in flight, and no more are sent
+        var cancellation = new Cancellation();
+
+        CompletableFuture<List<TransactionResponse>> future = cancellation.track(signWithBatchSignersAsync()).thenCompose(ignored -> {
+            // sign every chunk for every node up front; the chunks in flight then only read the built transactions
+            buildAllTransactions();
+
+            var chunkCount = transactionIds.size();
+            var futures = new ArrayList<CompletableFuture<TransactionResponse>>(chunkCount);
+
+            for (var i = 0; i < chunkCount; i++) {
+                var chunk = new Chunk(i);
+                var previous = i < maxChunksInFlight ?
+                    CompletableFuture.<TransactionResponse>completedFuture(null) :
+                    futures.get(i - maxChunksInFlight);
+
+                futures.add(previous.thenCompose(response -> cancellation.track(chunk.executeAsync(client))));
+            }
+
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+                var responses = new ArrayList<TransactionResponse>(chunkCount);
+
+                for (var future : futures) {
+                    responses.add(future.join());
+                }
+
+                return responses;
+            });
+        });
+
+        return cancellation.cancelledBy(future);
+    }
+
+    private static List<TransactionResponse> awaitAll(CompletableFuture<List<TransactionResponse>> future)
+        throws PrecheckStatusException, TimeoutException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            @Var var cause = e.getCause();
+
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+
+            if (cause instanceof PrecheckStatusException) {
+                throw (PrecheckStatusException) cause;
+            } else if (cause instanceof TimeoutException) {
+                throw (TimeoutException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new RuntimeException(cause);
+        }
     }
 
     @Override
@@ -250,14 +473,18 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
                 "The underlying transaction for a scheduled transaction cannot have node account IDs set"
             );
         }
-        if (data.size() > CHUNK_SIZE) {
-            throw new IllegalStateException("Cannot schedule a chunked transaction with length greater than " + CHUNK_SIZE);
-        }
-
         var bodyBuilder = spawnBodyBuilder(null);
 
         onFreeze(bodyBuilder);
 
+        var maxSize = adaptiveChunkSizeSignatures != null ?
+            fitChunkSize(bodyBuilder, null, adaptiveChunkSizeSignatures) :
+            chunkSize;
+
+        if (data.size() > maxSize) {
+            throw new IllegalStateException("Cannot schedule a chunked transaction with length greater than " + maxSize);
+        }
+
         onFreezeChunk(
             bodyBuilder,
             null,
@@ -271,11 +498,24 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
     }
 
     @Override
-    public T freezeWith(@Nullable Client client) {
-        super.freezeWith(client);
-
+    void onFreezeBodies(TransactionBody.Builder bodyBuilder) {
+        // each chunk gets its own bodies, so never build the bodies with the whole of the data in them
         var initialTransactionId = Objects.requireNonNull(transactionIds.get(0)).toProtobuf();
-        @Var var requiredChunks = (this.data.size() + (CHUNK_SIZE - 1)) / CHUNK_SIZE;
+
+        if (adaptiveChunkSizeSignatures != null) {
+            chunkSize = fitChunkSize(bodyBuilder, initialTransactionId, adaptiveChunkSizeSignatures);
+        } else {
+            // even with a single signature, a larger chunk could never pass precheck
+            var fit = fitChunkSize(bodyBuilder, initialTransactionId, 1);
+
+            if (chunkSize > fit) {
+                throw new IllegalArgumentException(
+                    "chunk size of " + chunkSize + " bytes leaves no room for the rest of the transaction, which fits "
+                        + fit + " bytes of data at most, try using setAdaptiveChunkSize");
+            }
+        }
+
+        @Var var requiredChunks = (this.data.size() + (chunkSize - 1)) / chunkSize;
 
         if (requiredChunks == 0) {
             requiredChunks = 1;
@@ -295,8 +535,8 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         var nextTransactionId = initialTransactionId.toBuilder();
 
         for (int i = 0; i < requiredChunks; i++) {
-            var startIndex = i * CHUNK_SIZE;
-            @Var var endIndex = startIndex + CHUNK_SIZE;
+            var startIndex = i * chunkSize;
+            @Var var endIndex = startIndex + chunkSize;
 
             if (endIndex > this.data.size()) {
                 endIndex = this.data.size();
@@ -305,7 +545,7 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
             transactionIds.add(TransactionId.fromProtobuf(nextTransactionId.build()));
 
             onFreezeChunk(
-                Objects.requireNonNull(frozenBodyBuilder).setTransactionID(nextTransactionId.build()),
+                bodyBuilder.setTransactionID(nextTransactionId.build()),
                 initialTransactionId,
                 startIndex,
                 endIndex,
@@ -318,7 +558,7 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
                 sigPairLists.add(SignatureMap.newBuilder());
                 innerSignedTransactions.add(SignedTransaction.newBuilder()
                     .setBodyBytes(
-                        frozenBodyBuilder
+                        bodyBuilder
                             .setNodeAccountID(nodeId.toProtobuf())
                             .build()
                             .toByteString()
@@ -333,9 +573,98 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
 
             nextTransactionId.setTransactionValidStart(nextValidStart);
         }
+    }
 
-        // noinspection unchecked
-        return (T) this;
+    /**
+     * The largest chunk which, once signed with the given number of signatures, keeps every transaction within
+     * {@link #MAX_TRANSACTION_SIZE}. Without a transaction ID or node account IDs, as when scheduling, the body is
+     * measured without them.
+     */
+    private int fitChunkSize(
+        TransactionBody.Builder bodyBuilder,
+        @Nullable TransactionID initialTransactionId,
+        int signatureCount
+    ) {
+        if (initialTransactionId != null) {
+            // an empty last chunk out of the most allowed, so the chunk number and total are as large as they can get
+            bodyBuilder.setTransactionID(initialTransactionId);
+            onFreezeChunk(bodyBuilder, initialTransactionId, 0, 0, maxChunks - 1, maxChunks);
+        } else {
+            // a scheduled transaction is a single chunk
+            onFreezeChunk(bodyBuilder, null, 0, 0, 0, 1);
+        }
+
+        @Var var largestBody = bodyBuilder.build().getSerializedSize();
+        for (var nodeId : nodeAccountIds) {
+            var bodySize = bodyBuilder.setNodeAccountID(nodeId.toProtobuf()).build().getSerializedSize();
+            largestBody = Math.max(largestBody, bodySize);
+        }
+
+        var fit = MAX_TRANSACTION_SIZE - largestBody - ENVELOPE_SIZE - signatureCount * SIGNATURE_PAIR_SIZE;
+
+        if (fit <= 0) {
+            throw new IllegalStateException(
+                "no room is left for data in a transaction with " + signatureCount + " signatures");
+        }
+
+        return fit;
+    }
+
+    /**
+     * A single chunk of this transaction, frozen and signed already, which can be executed on its own.
+     * <p>
+     * It shares the built transactions of its chunk with this transaction rather than copying them.
+     */
+    private final class Chunk extends Transaction<Chunk> {
+        Chunk(int chunk) {
+            var parent = ChunkedTransaction.this;
+            var nodeCount = parent.nodeAccountIds.size();
+            var from = chunk * nodeCount;
+            var to = from + nodeCount;
+
+            nodeAccountIds = parent.nodeAccountIds;
+            transactionIds = Collections.singletonList(parent.transactionIds.get(chunk));
+            sigPairLists = parent.sigPairLists.subList(from, to);
+            innerSignedTransactions = parent.innerSignedTransactions.subList(from, to);
+            outerTransactions = parent.outerTransactions.subList(from, to);
+            frozenBodyBuilder = parent.frozenBodyBuilder;
+
+            maxAttempts = parent.maxAttempts;
+            maxBackoff = parent.maxBackoff;
+            minBackoff = parent.minBackoff;
+            hedgingPercentile = parent.hedgingPercentile;
+            grpcDeadline = parent.grpcDeadline;
+        }
+
+        @Override
+        void onExecute(Client client) {
+            // frozen, validated and signed by the chunked transaction already
+        }
+
+        @Override
+        CompletableFuture<Void> onExecuteAsync(Client client) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        void validateChecksums(Client client) throws BadEntityIdException {
+            ChunkedTransaction.this.validateChecksums(client);
+        }
+
+        @Override
+        MethodDescriptor<com.hedera.hashgraph.sdk.proto.Transaction, com.hedera.hashgraph.sdk.proto.TransactionResponse> getMethodDescriptor() {
+            return ChunkedTransaction.this.getMethodDescriptor();
+        }
+
+        @Override
+        void onFreeze(TransactionBody.Builder bodyBuilder) {
+            ChunkedTransaction.this.onFreeze(bodyBuilder);
+        }
+
+        @Override
+        void onScheduled(SchedulableTransactionBody.Builder scheduled) {
+            ChunkedTransaction.this.onScheduled(scheduled);
+        }
     }
 
     abstract void onFreezeChunk(TransactionBody.Builder body, @Nullable TransactionID initialTransactionId, int startIndex, int endIndex, int chunk, int total);
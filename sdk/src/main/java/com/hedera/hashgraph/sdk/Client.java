@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
@@ -38,11 +39,15 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
     static final Duration DEFAULT_MIN_BACKOFF = Duration.ofMillis(250L);
     static final Duration DEFAULT_CLOSE_TIMEOUT = Duration.ofSeconds(30L);
     static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofMinutes(2L);
+    static final Duration DEFAULT_GRPC_DEADLINE = Duration.ofSeconds(10L);
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     private static final Hbar DEFAULT_MAX_QUERY_PAYMENT = new Hbar(1);
 
+    private static final MetricsListener NO_METRICS = new MetricsListener() {
+    };
+
     final ExecutorService executor;
 
     @Nullable
@@ -64,8 +69,24 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
 
     private volatile Duration minBackoff = DEFAULT_MIN_BACKOFF;
 
+    private volatile Duration grpcDeadline = DEFAULT_GRPC_DEADLINE;
+
     private boolean autoValidateChecksums = false;
 
+    private volatile boolean nodeFailover = false;
+
+    @Nullable
+    private volatile ReceiptTracker receiptTracker = null;
+
+    private volatile QueryPaymentPolicy queryPaymentPolicy = QueryPaymentPolicy.ASK_FOR_COST;
+
+    final QueryCostCache queryCostCache = new QueryCostCache();
+
+    @Nullable
+    private volatile PaymentTransactionPool paymentTransactionPool = null;
+
+    private volatile MetricsListener metricsListener = NO_METRICS;
+
     Client(ExecutorService executor, Network network, MirrorNetwork mirrorNetwork) {
         this.executor = executor;
         this.network = network;
@@ -397,6 +418,35 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
         return CompletableFuture.allOf(list.toArray(new CompletableFuture<?>[0])).thenApply((v) -> null);
     }
 
+    /**
+     * Connect to every node of the network at once, rather than to each node on the first request sent to it. Unlike
+     * {@link #pingAll()}, this sends no requests and pays for nothing.
+     * <p>
+     * Requests sent while a node is still connecting wait for the same connection.
+     *
+     * @return {@code this}
+     * @throws InterruptedException when the thread is interrupted while waiting for the nodes to connect
+     */
+    public Client warmUp() throws InterruptedException {
+        try {
+            warmUpAsync().get();
+        } catch (ExecutionException e) {
+            // nodes which fail to connect complete the future as well, so it has no way to complete exceptionally
+            throw new IllegalStateException(e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Connect to every node of the network at once without blocking, as {@link #warmUp()} does.
+     *
+     * @return A future which completes once every node is connected, or gave up after 10 seconds
+     */
+    public CompletableFuture<Void> warmUpAsync() {
+        return network.warmUp();
+    }
+
     /**
      * Set the account that will, by default, be paying for transactions and queries built with
      * this client.
@@ -429,6 +479,32 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
      * @return {@code this}
      */
     public synchronized Client setOperatorWith(AccountId accountId, PublicKey publicKey, Function<byte[], byte[]> transactionSigner) {
+        validateOperatorAccountId(accountId);
+
+        this.operator = new Operator(accountId, publicKey, transactionSigner);
+        return this;
+    }
+
+    /**
+     * Sets the account that will, by default, by paying for transactions and queries built with
+     * this client, signing with a signer that signs many transaction bodies in a single call.
+     * <p>
+     * The `transactionSigner` is given the bodies for every node of a transaction at once, and for every node's query
+     * payment at once when a query is executed asynchronously.
+     *
+     * @param accountId         The AccountId of the operator
+     * @param publicKey         The PublicKey of the operator
+     * @param transactionSigner The batch signer for the operator
+     * @return {@code this}
+     */
+    public synchronized Client setOperatorWithBatch(AccountId accountId, PublicKey publicKey, BatchTransactionSigner transactionSigner) {
+        validateOperatorAccountId(accountId);
+
+        this.operator = new Operator(accountId, publicKey, transactionSigner);
+        return this;
+    }
+
+    private void validateOperatorAccountId(AccountId accountId) {
         if (getNetworkName() != null) {
             try {
                 accountId.validateChecksum(this);
@@ -438,9 +514,6 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
                 );
             }
         }
-
-        this.operator = new Operator(accountId, publicKey, transactionSigner);
-        return this;
     }
 
     /**
@@ -540,6 +613,30 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
         return this;
     }
 
+    /**
+     * The longest a single attempt of a request waits for a node to answer
+     *
+     * @return grpcDeadline
+     */
+    public Duration getGrpcDeadline() {
+        return grpcDeadline;
+    }
+
+    /**
+     * The longest a single attempt of a request waits for a node to answer. Defaults to 10 seconds. An attempt which
+     * runs out of time is retried, on another node if there is one, for as long as the request timeout allows.
+     *
+     * @param grpcDeadline The deadline of each attempt
+     * @return {@code this}
+     */
+    public Client setGrpcDeadline(Duration grpcDeadline) {
+        if (grpcDeadline == null || grpcDeadline.toNanos() <= 0) {
+            throw new IllegalArgumentException("grpcDeadline must be a positive duration");
+        }
+        this.grpcDeadline = grpcDeadline;
+        return this;
+    }
+
     /**
      * Max number of times any node in the network can receive a bad gRPC status before being removed from the network.
      *
@@ -636,6 +733,56 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
         return this;
     }
 
+    /**
+     * How nodes are chosen for a request when the request doesn't set its own node account IDs.
+     *
+     * @return
+     */
+    public synchronized NodeSelectionPolicy getNodeSelectionPolicy() {
+        return network.getSelectionPolicy();
+    }
+
+    /**
+     * Set how nodes are chosen for a request when the request doesn't set its own node account IDs; one of the
+     * policies built into {@link NodeSelectionPolicy}, or your own. Defaults to {@link NodeSelectionPolicy#ROUND_ROBIN}.
+     *
+     * @param nodeSelectionPolicy
+     * @return
+     */
+    public synchronized Client setNodeSelectionPolicy(NodeSelectionPolicy nodeSelectionPolicy) {
+        Objects.requireNonNull(nodeSelectionPolicy);
+        network.setSelectionPolicy(nodeSelectionPolicy);
+        return this;
+    }
+
+    /**
+     * The number of channels, and so HTTP/2 connections, opened to each node.
+     *
+     * @return
+     */
+    public synchronized int getChannelsPerNode() {
+        return network.getChannelsPerNode();
+    }
+
+    /**
+     * Set the number of channels, and so HTTP/2 connections, opened to each node. Defaults to 1.
+     * <p>
+     * A single connection is limited by the node's maximum number of concurrent HTTP/2 streams. Opening more channels
+     * lets more requests be in flight to a node at once; each request uses the channel with the fewest calls in
+     * flight.
+     *
+     * @param channelsPerNode
+     * @return
+     */
+    public synchronized Client setChannelsPerNode(int channelsPerNode) {
+        if (channelsPerNode < 1) {
+            throw new IllegalArgumentException("channelsPerNode must be greater than zero");
+        }
+
+        network.setChannelsPerNode(channelsPerNode);
+        return this;
+    }
+
     /**
      * Enable or disable automatic entity ID checksum validation.
      * @param value
@@ -654,6 +801,157 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
         return autoValidateChecksums;
     }
 
+    /**
+     * Enable or disable node failover.
+     * <p>
+     * By default, a request whose next node is backing off after a bad gRPC status waits for that node to become
+     * healthy again. With failover enabled the request is instead handed to the next healthy node from its node
+     * account IDs, and only waits when every one of those nodes is backing off.
+     *
+     * @param value
+     * @return
+     */
+    public Client setNodeFailover(boolean value) {
+        nodeFailover = value;
+        return this;
+    }
+
+    /**
+     * Is node failover enabled.
+     * @return
+     */
+    public boolean isNodeFailoverEnabled() {
+        return nodeFailover;
+    }
+
+    /**
+     * Enable or disable shared receipt tracking.
+     * <p>
+     * By default, every {@link TransactionResponse#getReceipt(Client)} polls for its receipt with its own retry loop.
+     * With receipt tracking enabled the client polls for every pending receipt on one schedule instead: callers
+     * waiting on the same transaction share a single poll, the first poll waits until the transaction is likely to
+     * have reached consensus, and only a bounded number of receipt queries are in flight at once so the nodes don't
+     * answer {@code BUSY}.
+     *
+     * @param value
+     * @return
+     */
+    public synchronized Client setReceiptTracking(boolean value) {
+        if (!value) {
+            // receipts already being tracked are still polled until they arrive
+            receiptTracker = null;
+        } else if (receiptTracker == null) {
+            receiptTracker = new ReceiptTracker(this);
+        }
+
+        return this;
+    }
+
+    /**
+     * Is receipt tracking enabled.
+     * @return
+     */
+    public boolean isReceiptTrackingEnabled() {
+        return receiptTracker != null;
+    }
+
+    @Nullable
+    ReceiptTracker getReceiptTracker() {
+        return receiptTracker;
+    }
+
+    /**
+     * Set how the client decides what to pay for a query which has no explicit query payment.
+     * <p>
+     * By default the cost of every such query is asked for first, which costs a round trip to the node per query.
+     * See {@link QueryPaymentPolicy} for the alternatives.
+     *
+     * @param queryPaymentPolicy
+     * @return
+     */
+    public Client setQueryPaymentPolicy(QueryPaymentPolicy queryPaymentPolicy) {
+        this.queryPaymentPolicy = Objects.requireNonNull(queryPaymentPolicy);
+        return this;
+    }
+
+    /**
+     * How the client decides what to pay for a query which has no explicit query payment.
+     * @return
+     */
+    public QueryPaymentPolicy getQueryPaymentPolicy() {
+        return queryPaymentPolicy;
+    }
+
+    /**
+     * Set how many signed query payments to keep ready for each node and payment amount.
+     * <p>
+     * By default a query builds and signs its payment for a node when it is about to be sent to that node. With a pool
+     * the client builds and signs payments in the background instead, only for the nodes and amounts queries have
+     * paid before, and a query takes a ready one. Payments are thrown away well before they expire. This is most
+     * useful with {@link QueryPaymentPolicy#CACHE_COST} or {@link QueryPaymentPolicy#PAY_MAX}, which keep paying the
+     * same amounts.
+     *
+     * @param paymentTransactionPoolSize The number of payments to keep ready, or 0 to not keep any
+     * @return
+     */
+    public synchronized Client setPaymentTransactionPoolSize(int paymentTransactionPoolSize) {
+        if (paymentTransactionPoolSize < 0) {
+            throw new IllegalArgumentException("paymentTransactionPoolSize must be non-negative");
+        }
+
+        paymentTransactionPool = paymentTransactionPoolSize > 0 ?
+            new PaymentTransactionPool(executor, paymentTransactionPoolSize) :
+            null;
+
+        return this;
+    }
+
+    /**
+     * The number of signed query payments kept ready for each node and payment amount.
+     * @return
+     */
+    public int getPaymentTransactionPoolSize() {
+        var pool = paymentTransactionPool;
+        return pool != null ? pool.getSize() : 0;
+    }
+
+    @Nullable
+    PaymentTransactionPool getPaymentTransactionPool() {
+        return paymentTransactionPool;
+    }
+
+    /**
+     * Set the listener to report the attempts, retries, backoff and calls in flight of every request to. See
+     * {@link RequestMetrics} for a listener which keeps them in memory.
+     *
+     * @param metricsListener The listener, or {@code null} to not report metrics
+     * @return
+     */
+    public Client setMetricsListener(@Nullable MetricsListener metricsListener) {
+        this.metricsListener = metricsListener != null ? metricsListener : NO_METRICS;
+        return this;
+    }
+
+    /**
+     * The listener metrics are reported to.
+     *
+     * @return
+     */
+    @Nullable
+    public MetricsListener getMetricsListener() {
+        var listener = metricsListener;
+        return listener != NO_METRICS ? listener : null;
+    }
+
+    /**
+     * The listener to report metrics to, which does nothing when none was set
+     *
+     * @return
+     */
+    MetricsListener getMetrics() {
+        return metricsListener;
+    }
+
     /**
      * Get the ID of the operator. Useful when the client was constructed from file.
      *
@@ -776,7 +1074,8 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
     }
 
     /**
-     * Set the maximum amount of time a request can run. Used only in async variants of methods.
+     * Set the maximum amount of time a request can run, including every attempt and the waits between them. Used by
+     * {@code execute(client)} and the async variants of methods.
      *
      * @param requestTimeout
      * @return
@@ -853,10 +1152,24 @@ public final class Client implements AutoCloseable, WithPing, WithPingAll {
         final PublicKey publicKey;
         final Function<byte[], byte[]> transactionSigner;
 
+        /**
+         * Set when the operator signs in batches, in which case {@link Operator#transactionSigner} blocks on it
+         */
+        @Nullable
+        final BatchTransactionSigner batchSigner;
+
         Operator(AccountId accountId, PublicKey publicKey, Function<byte[], byte[]> transactionSigner) {
             this.accountId = accountId;
             this.publicKey = publicKey;
             this.transactionSigner = transactionSigner;
+            this.batchSigner = null;
+        }
+
+        Operator(AccountId accountId, PublicKey publicKey, BatchTransactionSigner batchSigner) {
+            this.accountId = accountId;
+            this.publicKey = publicKey;
+            this.transactionSigner = message -> batchSigner.sign(Collections.singletonList(message)).join().get(0);
+            this.batchSigner = batchSigner;
         }
     }
 
@@ -38,6 +38,12 @@ public final class ContractByteCodeQuery extends Query<ByteString, ContractByteC
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the size of the contract's bytecode
+        return super.getCostCacheKey() + "/" + contractId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (contractId != null) {
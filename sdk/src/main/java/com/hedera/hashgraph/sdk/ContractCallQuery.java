@@ -142,6 +142,14 @@ public final class ContractCallQuery extends Query<ContractFunctionResult, Contr
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the gas and the size of the call, which is bucketed to the next power of two
+        var parametersBucket = Integer.highestOneBit(Math.max(functionParameters.length - 1, 0)) << 1;
+
+        return super.getCostCacheKey() + "/" + gas + "/" + parametersBucket;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (contractId != null) {
@@ -49,6 +49,12 @@ public final class ContractInfoQuery extends Query<ContractInfo, ContractInfoQue
         return super.getCostAsync(client).thenApply((cost) -> Hbar.fromTinybars(Math.max(cost.toTinybars(), 25)));
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the contract, such as how many tokens it has
+        return super.getCostCacheKey() + "/" + contractId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (contractId != null) {
@@ -1,11 +1,16 @@
 package com.hedera.hashgraph.sdk;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java8.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.bp.Duration;
 
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
@@ -14,21 +19,86 @@ final class Delayer {
 
     private static final Duration MIN_DELAY = Duration.ofMillis(500);
 
+    private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
     private Delayer() {
     }
 
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        var threadFactory = new ThreadFactoryBuilder()
+            .setNameFormat("hedera-sdk-delayer")
+            .setDaemon(true)
+            .build();
+
+        var timers = new ScheduledThreadPoolExecutor(1, threadFactory);
+
+        // a cancelled delay frees its timer right away, rather than when it would have fired
+        timers.setRemoveOnCancelPolicy(true);
+
+        return timers;
+    }
+
     static CompletableFuture<Void> delayBackOff(int attempt, Executor executor) {
         var interval = MIN_DELAY.multipliedBy(ThreadLocalRandom.current().nextLong(1L << attempt));
 
         return delayFor(interval.toMillis(), executor);
     }
 
+    /**
+     * Wait for {@code milliseconds}, then complete on {@code executor}.
+     * <p>
+     * Cancelling the returned future cancels the timer, so nothing is left scheduled for it.
+     *
+     * @param milliseconds the amount of time to wait
+     * @param executor     the executor to complete the future on
+     * @return a future which completes once the time has elapsed
+     */
     static CompletableFuture<Void> delayFor(long milliseconds, Executor executor) {
         logger.trace("waiting for {} seconds before trying again", (double) milliseconds / 1000.0);
 
-        return CompletableFuture.runAsync(
-            () -> {
-            },
-            CompletableFuture.delayedExecutor(milliseconds, TimeUnit.MILLISECONDS, executor));
+        var delay = new CompletableFuture<Void>();
+
+        var timer = scheduler.schedule(() -> {
+            try {
+                executor.execute(() -> delay.complete(null));
+            } catch (RejectedExecutionException e) {
+                delay.completeExceptionally(e);
+            }
+        }, milliseconds, TimeUnit.MILLISECONDS);
+
+        delay.whenComplete((ignored, error) -> {
+            if (delay.isCancelled()) {
+                timer.cancel(false);
+            }
+        });
+
+        return delay;
+    }
+
+    /**
+     * Park the calling thread until {@code milliseconds} have elapsed.
+     * <p>
+     * The wait is driven by the same shared scheduler as {@link #delayFor(long, Executor)} and the caller is woken
+     * directly from that scheduler, so it does not depend on a free thread in any executor.
+     *
+     * @param milliseconds the amount of time to wait
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    static void awaitFor(long milliseconds) throws InterruptedException {
+        if (milliseconds <= 0) {
+            return;
+        }
+
+        var delay = delayFor(milliseconds, MoreExecutors.directExecutor());
+
+        try {
+            delay.get();
+        } catch (InterruptedException e) {
+            delay.cancel(false);
+            throw e;
+        } catch (ExecutionException e) {
+            // the direct executor never rejects, so the delay future has no way to complete exceptionally
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -1,7 +1,9 @@
 package com.hedera.hashgraph.sdk;
 
+import com.google.errorprone.annotations.Var;
 import io.grpc.CallOptions;
 import io.grpc.ClientCall;
+import io.grpc.Deadline;
 import io.grpc.MethodDescriptor;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.ClientCalls;
@@ -16,6 +18,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 
@@ -35,6 +40,16 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
     @Nullable
     protected Duration minBackoff = null;
 
+    @Nullable
+    protected Duration grpcDeadline = null;
+
+    /**
+     * When set, the same request is also sent to the next node if the first node has not answered within this
+     * percentile of its recently observed latency. Only requests which are safe to send twice expose a setter for it.
+     */
+    @Nullable
+    protected Double hedgingPercentile = null;
+
     protected int nextNodeIndex = 0;
     protected List<AccountId> nodeAccountIds = Collections.emptyList();
     protected List<Node> nodes = new ArrayList<>();
@@ -96,6 +111,31 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
         return (SdkRequestT) this;
     }
 
+    /**
+     * The longest a single attempt waits for a node to answer
+     *
+     * @return grpcDeadline
+     */
+    public final Duration getGrpcDeadline() {
+        return grpcDeadline != null ? grpcDeadline : Client.DEFAULT_GRPC_DEADLINE;
+    }
+
+    /**
+     * The longest a single attempt waits for a node to answer. An attempt which runs out of time is retried, on
+     * another node if there is one, for as long as the timeout of the whole request allows.
+     *
+     * @param grpcDeadline The deadline of each attempt
+     * @return {@code this}
+     */
+    public final SdkRequestT setGrpcDeadline(Duration grpcDeadline) {
+        if (grpcDeadline == null || grpcDeadline.toNanos() <= 0) {
+            throw new IllegalArgumentException("grpcDeadline must be a positive duration");
+        }
+        this.grpcDeadline = grpcDeadline;
+        // noinspection unchecked
+        return (SdkRequestT) this;
+    }
+
     /**
      * @deprecated Use {@link #getMaxAttempts()} instead.
      */
@@ -174,21 +214,51 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
         if (minBackoff == null) {
             minBackoff = client.getMinBackoff();
         }
+
+        if (grpcDeadline == null) {
+            grpcDeadline = client.getGrpcDeadline();
+        }
     }
 
     private void delay(long delay) {
         try {
-            Thread.sleep(delay);
+            Delayer.awaitFor(delay);
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * @return a timeout for a request which failed because it ran out of time rather than attempts
+     */
+    private static TimeoutException timeoutException(@Nullable Throwable lastException) {
+        var exception = new TimeoutException("the request ran out of time before it could complete");
+
+        if (lastException != null) {
+            exception.initCause(lastException);
+        }
+
+        return exception;
+    }
+
     public O execute(Client client) throws TimeoutException, PrecheckStatusException {
         return execute(client, client.getRequestTimeout());
     }
 
+    /**
+     * Execute this request, making every attempt and waiting between them within {@code timeout}. Each attempt waits
+     * for a node for no longer than {@link #getGrpcDeadline()} or the time left, and no further attempt is made once
+     * the wait before it would leave no time for it.
+     *
+     * @param client  The client to execute with
+     * @param timeout The time the whole request may take
+     * @return The result of the request
+     * @throws TimeoutException        when the request runs out of time, or a {@link TransactionTimeoutException}
+     *                                 when a node doesn't answer a transaction in time
+     * @throws PrecheckStatusException when a node rejects the request
+     */
     public O execute(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        var deadline = Deadline.after(timeout.toNanos(), TimeUnit.NANOSECONDS);
         Throwable lastException = null;
 
         mergeFromClient(client);
@@ -198,34 +268,89 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
 
         for (int attempt = 1; /* condition is done within loop */; attempt++) {
             if (attempt > maxAttempts) {
+                client.getMetrics().onMaxAttemptsExceeded(getMethodDescriptor().getFullMethodName(), getMaxAttempts());
                 throw new MaxAttemptsExceededException(lastException);
             }
 
-            GrpcRequest grpcRequest = new GrpcRequest(attempt);
+            if (deadline.isExpired()) {
+                throw timeoutException(lastException);
+            }
+
+            @Var GrpcRequest grpcRequest = new GrpcRequest(client, attempt, deadline);
 
             // Sleeping if a node is not healthy should not increment attempt as we didn't really make an attempt
             if (!grpcRequest.getNode().isHealthy()) {
-                delay(grpcRequest.getNode().getRemainingTimeForBackoff());
+                var wait = grpcRequest.getNode().getRemainingTimeForBackoff();
+
+                if (!grpcRequest.canWait(wait)) {
+                    throw timeoutException(lastException);
+                }
+
+                delay(grpcRequest.recordBackoff(wait));
+            }
+
+            if (!grpcRequest.getNode().hasConnected() && !grpcRequest.canWait(0)) {
+                throw timeoutException(lastException);
             }
 
-            if (grpcRequest.getNode().channelFailedToConnect()) {
+            if (grpcRequest.channelFailedToConnect()) {
+                if (deadline.isExpired()) {
+                    // the request ran out of time waiting, which says nothing about the node
+                    throw timeoutException(lastException);
+                }
+
                 lastException = grpcRequest.reactToConnectionFailure();
-                delay(grpcRequest.getDelay());
+
+                if (!grpcRequest.canWait(grpcRequest.getDelay())) {
+                    throw timeoutException(lastException);
+                }
+
+                delay(grpcRequest.recordBackoff(grpcRequest.getDelay()));
                 continue;
             }
 
             ResponseT response = null;
 
-            try {
-                response = ClientCalls.blockingUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest());
-            } catch (Throwable e) {
-                lastException = e;
+            if (hedgingPercentile != null) {
+                var cancellation = new Cancellation();
+
+                try {
+                    grpcRequest = sendAsync(client, grpcRequest, cancellation).get();
+                } catch (InterruptedException e) {
+                    cancellation.cancel();
+                    throw new RuntimeException(e);
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e);
+                }
+
+                response = grpcRequest.getResponse();
+                if (response == null) {
+                    lastException = grpcRequest.getError();
+                }
+            } else {
+                grpcRequest.buildRequest();
+
+                try {
+                    response = ClientCalls.blockingUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest());
+                } catch (Throwable e) {
+                    lastException = e;
+                } finally {
+                    grpcRequest.endCall();
+                }
             }
 
             if (response == null) {
                 if(grpcRequest.shouldRetryExceptionally(lastException)) {
-                    delay(grpcRequest.getDelay());
+                    if (!grpcRequest.canWait(grpcRequest.getDelay())) {
+                        throw timeoutException(lastException);
+                    }
+
+                    delay(grpcRequest.recordBackoff(grpcRequest.getDelay()));
                     continue;
+                } else if (grpcRequest.mayHaveBeenAccepted(lastException)) {
+                    throw grpcRequest.mapTimeoutException(Objects.requireNonNull(lastException));
+                } else if (deadline.isExpired()) {
+                    throw timeoutException(lastException);
                 } else {
                     throw grpcRequest.mapStatusException();
                 }
@@ -234,7 +359,12 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
             switch (grpcRequest.shouldRetry(response)) {
                 case Retry:
                     lastException = grpcRequest.mapStatusException();
-                    delay(grpcRequest.getDelay());
+
+                    if (!grpcRequest.canWait(grpcRequest.getDelay())) {
+                        throw timeoutException(lastException);
+                    }
+
+                    delay(grpcRequest.recordBackoff(grpcRequest.getDelay()));
                     continue;
                 case Error:
                     throw grpcRequest.mapStatusException();
@@ -245,17 +375,32 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
         }
     }
 
+    /**
+     * Execute this request without blocking, within the request timeout of the client as
+     * {@link #execute(Client, Duration)} does.
+     * <p>
+     * Cancelling the returned future cancels the call in flight and any wait before the next attempt, and no further
+     * attempt is made.
+     *
+     * @param client The client to execute with
+     * @return A future of the result of the request, failed with a {@link TimeoutException} when it runs out of time
+     */
     @Override
     @FunctionalExecutable
     public CompletableFuture<O> executeAsync(Client client) {
+        var deadline = Deadline.after(client.getRequestTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        var cancellation = new Cancellation();
+
         mergeFromClient(client);
 
-        return onExecuteAsync(client).thenCompose((v) -> {
+        var future = cancellation.track(onExecuteAsync(client)).thenCompose((v) -> {
             checkNodeAccountIds();
             setNodesFromNodeAccountIds(client);
 
-            return executeAsync(client, 1, null);
+            return executeAsync(client, deadline, cancellation, 1, null);
         });
+
+        return cancellation.cancelledBy(future);
     }
 
     private void setNodesFromNodeAccountIds(Client client) {
@@ -269,7 +414,11 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
         }
     }
 
-    private Node getNodeForExecute(int attempt) {
+    private Node getNodeForExecute(Client client, int attempt) {
+        if (client.isNodeFailoverEnabled()) {
+            selectHealthiestNode();
+        }
+
         var node = nodes.get(nextNodeIndex);
 
         logger.trace("Sending request #{} to node {}: {}", attempt, node.getAccountId(), this);
@@ -282,6 +431,31 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
         return node;
     }
 
+    /**
+     * Moves {@link #nextNodeIndex} onto the next healthy node, starting at the current one. If every node is backing off,
+     * the node whose backoff ends soonest is selected instead so the caller waits as little as possible.
+     */
+    private void selectHealthiestNode() {
+        var nodeCount = nodeAccountIds.size();
+        @Var var soonestIndex = nextNodeIndex;
+
+        for (int i = 0; i < nodeCount; i++) {
+            var index = (nextNodeIndex + i) % nodeCount;
+            var node = nodes.get(index);
+
+            if (node.isHealthy()) {
+                nextNodeIndex = index;
+                return;
+            }
+
+            if (node.getRemainingTimeForBackoff() < nodes.get(soonestIndex).getRemainingTimeForBackoff()) {
+                soonestIndex = index;
+            }
+        }
+
+        nextNodeIndex = soonestIndex;
+    }
+
     private ProtoRequestT getRequestForExecute() {
         var request = makeRequest();
 
@@ -293,49 +467,156 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
         return request;
     }
 
-    private CompletableFuture<O> executeAsync(Client client, int attempt, @Nullable Throwable lastException) {
+    private CompletableFuture<O> executeAsync(
+        Client client,
+        Deadline deadline,
+        Cancellation cancellation,
+        int attempt,
+        @Nullable Throwable lastException
+    ) {
+        if (cancellation.isCancelled()) {
+            return CompletableFuture.<O>failedFuture(new CancellationException("the request was cancelled"));
+        }
+
         if (attempt > maxAttempts) {
+            client.getMetrics().onMaxAttemptsExceeded(getMethodDescriptor().getFullMethodName(), getMaxAttempts());
             return CompletableFuture.<O>failedFuture(new MaxAttemptsExceededException(lastException));
         }
 
-        GrpcRequest grpcRequest = new GrpcRequest(attempt);
+        if (deadline.isExpired()) {
+            return CompletableFuture.<O>failedFuture(timeoutException(lastException));
+        }
+
+        GrpcRequest grpcRequest = new GrpcRequest(client, attempt, deadline);
 
-        // Sleeping if a node is not healthy should not increment attempt as we didn't really make an attempt
+        // Sleeping if a node is not healthy should not increment attempt as we didn't really make an attempt.
+        // The request hasn't been built yet, so nothing is signed for a node we end up not sending to.
         if (!grpcRequest.getNode().isHealthy()) {
-            return Delayer.delayFor(grpcRequest.getNode().getRemainingTimeForBackoff(), client.executor)
-                .thenCompose((v) -> executeAsync(client, attempt, lastException));
+            var wait = grpcRequest.getNode().getRemainingTimeForBackoff();
+
+            if (!grpcRequest.canWait(wait)) {
+                return CompletableFuture.<O>failedFuture(timeoutException(lastException));
+            }
+
+            return cancellation.track(Delayer.delayFor(grpcRequest.recordBackoff(wait), client.executor))
+                .thenCompose((v) -> executeAsync(client, deadline, cancellation, attempt, lastException));
         }
 
-        return grpcRequest.getNode().channelFailedToConnectAsync().thenCompose(connectionFailed -> {
+        if (!grpcRequest.getNode().hasConnected() && !grpcRequest.canWait(0)) {
+            return CompletableFuture.<O>failedFuture(timeoutException(lastException));
+        }
+
+        return grpcRequest.channelFailedToConnectAsync().thenCompose(connectionFailed -> {
+            if (connectionFailed && deadline.isExpired()) {
+                // the request ran out of time waiting, which says nothing about the node
+                return CompletableFuture.<O>failedFuture(timeoutException(lastException));
+            }
+
             if (connectionFailed) {
                 var connectionException = grpcRequest.reactToConnectionFailure();
-                return Delayer.delayFor(grpcRequest.getDelay(), client.executor)
-                    .thenCompose((v) -> executeAsync(client, attempt + 1, connectionException));
+
+                if (!grpcRequest.canWait(grpcRequest.getDelay())) {
+                    return CompletableFuture.<O>failedFuture(timeoutException(connectionException));
+                }
+
+                return cancellation.track(Delayer.delayFor(grpcRequest.recordBackoff(grpcRequest.getDelay()), client.executor))
+                    .thenCompose((v) -> executeAsync(client, deadline, cancellation, attempt + 1, connectionException));
+            }
+
+            if (cancellation.isCancelled()) {
+                return CompletableFuture.<O>failedFuture(new CancellationException("the request was cancelled"));
             }
 
-            return toCompletableFuture(ClientCalls.futureUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest())).handle((response, error) -> {
-                if (grpcRequest.shouldRetryExceptionally(error)) {
+            return sendAsync(client, grpcRequest, cancellation).thenCompose(answeredRequest -> {
+                var response = answeredRequest.getResponse();
+                var error = answeredRequest.getError();
+
+                if (answeredRequest.shouldRetryExceptionally(error)) {
                     // the transaction had a network failure reaching Hedera
-                    return executeAsync(client, attempt + 1, error);
+                    return executeAsync(client, deadline, cancellation, attempt + 1, error);
                 }
 
                 if (error != null) {
                     // not a network failure, some other weirdness going on; just fail fast
-                    return CompletableFuture.<O>failedFuture(error);
+                    // a node which timed out may have accepted the transaction, so it isn't sent to another one
+                    if (answeredRequest.mayHaveBeenAccepted(error)) {
+                        return CompletableFuture.<O>failedFuture(answeredRequest.mapTimeoutException(error));
+                    }
+
+                    return CompletableFuture.<O>failedFuture(deadline.isExpired() ? timeoutException(error) : error);
                 }
 
-                switch (grpcRequest.shouldRetry(response)) {
+                switch (answeredRequest.shouldRetry(Objects.requireNonNull(response))) {
                     case Retry:
-                        return Delayer.delayFor(grpcRequest.getDelay(), client.executor)
-                            .thenCompose((v) -> executeAsync(client, attempt + 1, grpcRequest.mapStatusException()));
+                        var statusException = answeredRequest.mapStatusException();
+
+                        if (!answeredRequest.canWait(answeredRequest.getDelay())) {
+                            return CompletableFuture.<O>failedFuture(timeoutException(statusException));
+                        }
+
+                        return cancellation.track(Delayer.delayFor(answeredRequest.recordBackoff(answeredRequest.getDelay()), client.executor))
+                            .thenCompose((v) -> executeAsync(client, deadline, cancellation, attempt + 1, statusException));
                     case Error:
-                        return CompletableFuture.<O>failedFuture(grpcRequest.mapStatusException());
+                        return CompletableFuture.<O>failedFuture(answeredRequest.mapStatusException());
                     case Finished:
                     default:
-                        return CompletableFuture.completedFuture(grpcRequest.mapResponse());
+                        return CompletableFuture.completedFuture(answeredRequest.mapResponse());
                 }
-            }).thenCompose(x -> x);
+            });
+        });
+    }
+
+    /**
+     * Send {@code grpcRequest} and complete with whichever request answered it.
+     * <p>
+     * When hedging is enabled and the node has enough latency history, the request for the next node is also built
+     * and sent if the first node stays silent for longer than {@link #hedgingPercentile} of its observed latency. The
+     * first request to receive a response which finishes the request wins and the other call is cancelled. A failed
+     * call, or one answered with a retryable status such as {@code BUSY}, only wins when no other call is still in
+     * flight.
+     *
+     * @param client - the client executing this request
+     * @param grpcRequest - the request for the current attempt
+     * @param cancellation - cancels the calls, and the wait before hedging, when the request is cancelled
+     * @return - a future of the request which answered, with its response or error recorded on it
+     */
+    private CompletableFuture<GrpcRequest> sendAsync(Client client, GrpcRequest grpcRequest, Cancellation cancellation) {
+        // build before choosing the hedge node as building moves on to the next node
+        grpcRequest.buildRequest();
+
+        var hedgeDelay = hedgingPercentile != null && nodeAccountIds.size() > 1 ?
+            grpcRequest.getNode().getLatencyPercentile(hedgingPercentile) : -1;
+
+        if (hedgeDelay < 0) {
+            return sendAsync(grpcRequest, cancellation);
+        }
+
+        var hedgeRequest = new GrpcRequest(client, grpcRequest.attempt, grpcRequest.deadline);
+
+        if (hedgeRequest.getNode() == grpcRequest.getNode() || !hedgeRequest.getNode().isHealthy()) {
+            return sendAsync(grpcRequest, cancellation);
+        }
+
+        var hedgedCall = new HedgedCall();
+        hedgedCall.send(grpcRequest);
+        cancellation.track(hedgedCall.winner, hedgedCall::cancel);
+
+        cancellation.track(Delayer.delayFor(hedgeDelay, client.executor)).thenRun(() -> {
+            if (hedgedCall.send(hedgeRequest)) {
+                logger.trace("Hedging request #{} to node {} after {} ms without an answer from node {}",
+                    grpcRequest.attempt, hedgeRequest.getNode().getAccountId(), hedgeDelay, grpcRequest.getNode().getAccountId());
+            }
         });
+
+        return hedgedCall.winner;
+    }
+
+    private CompletableFuture<GrpcRequest> sendAsync(GrpcRequest grpcRequest, Cancellation cancellation) {
+        var answered = grpcRequest.sendAsync();
+
+        // the call has been started, so cancelling it now can't race with it being created
+        return cancellation.track(answered, () -> grpcRequest.cancelCall("the request was cancelled"))
+            .thenApply(v -> grpcRequest);
     }
 
     abstract ProtoRequestT makeRequest();
@@ -376,6 +657,14 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
         return false;
     }
 
+    /**
+     * Whether an attempt which ran out of its gRPC deadline is sent again while the request has time left. A node
+     * which timed out may still have accepted a transaction, so only a request which can be repeated safely does.
+     */
+    boolean retriesTimedOutAttempts() {
+        return true;
+    }
+
     /**
      * Called just after receiving the query response from Hedera. By default it triggers a retry
      * when the pre-check status is {@code BUSY}.
@@ -395,19 +684,28 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
     private class GrpcRequest {
         private final Node node;
         private final int attempt;
-        //private final ClientCall<ProtoRequestT, ResponseT> call;
-        private final ProtoRequestT request;
-        private final long startAt;
+        private final Deadline deadline;
+        @Nullable
+        private ProtoRequestT request;
         private final long delay;
+        private long startAt;
 
+        @Nullable
+        private ClientCall<ProtoRequestT, ResponseT> call;
         private ResponseT response;
+        @Nullable
+        private Throwable error;
         private double latency;
         private Status responseStatus;
+        private final MetricsListener metrics;
+        private final String method;
 
-        GrpcRequest(int attempt) {
+        GrpcRequest(Client client, int attempt, Deadline deadline) {
             this.attempt = attempt;
-            this.node = Executable.this.getNodeForExecute(attempt);
-            this.request = Executable.this.getRequestForExecute();
+            this.deadline = deadline;
+            this.metrics = client.getMetrics();
+            this.method = Executable.this.getMethodDescriptor().getFullMethodName();
+            this.node = Executable.this.getNodeForExecute(client, attempt);
             this.startAt = System.nanoTime();
 
             // Exponential back-off for Delayer: 250ms, 500ms, 1s, 2s, 4s, 8s, ... 8s
@@ -418,32 +716,168 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
             return node;
         }
 
+        /**
+         * Build the request for {@link GrpcRequest#node} and move on to the next node. This is done just before the
+         * request is sent, rather than when the node is chosen, so a transaction is only signed for the nodes it's
+         * actually sent to.
+         */
+        void buildRequest() {
+            if (request == null) {
+                var buildStartAt = System.nanoTime();
+                request = Executable.this.getRequestForExecute();
+                metrics.onBuildRequest(node.getAccountId(), method, System.nanoTime() - buildStartAt);
+            }
+        }
+
+        /**
+         * Wait for the channel to {@link GrpcRequest#node} to connect, if it hasn't yet, within the time left before
+         * the deadline of the request
+         *
+         * @return - whether the channel failed to connect
+         */
+        boolean channelFailedToConnect() {
+            if (node.hasConnected()) {
+                return false;
+            }
+
+            var connectStartAt = System.nanoTime();
+            var failed = node.channelFailedToConnect(deadline.timeRemaining(TimeUnit.MILLISECONDS));
+            metrics.onChannelConnect(node.getAccountId(), System.nanoTime() - connectStartAt, !failed);
+            return failed;
+        }
+
+        /**
+         * Wait for the channel to {@link GrpcRequest#node} to connect without blocking, if it hasn't yet, within the
+         * time left before the deadline of the request
+         *
+         * @return - whether the channel failed to connect
+         */
+        CompletableFuture<Boolean> channelFailedToConnectAsync() {
+            if (node.hasConnected()) {
+                return CompletableFuture.completedFuture(false);
+            }
+
+            var connectStartAt = System.nanoTime();
+            return node.channelFailedToConnectAsync(deadline.timeRemaining(TimeUnit.MILLISECONDS)).thenApply(failed -> {
+                metrics.onChannelConnect(node.getAccountId(), System.nanoTime() - connectStartAt, !failed);
+                return failed;
+            });
+        }
+
         public ClientCall<ProtoRequestT, ResponseT> createCall() {
-            return this.node.getChannel().newCall(Executable.this.getMethodDescriptor(), CallOptions.DEFAULT);
+            this.startAt = System.nanoTime();
+            // the deadline of the attempt, cut short when the request has less time left
+            var attemptDeadline = Deadline.after(Objects.requireNonNull(grpcDeadline).toNanos(), TimeUnit.NANOSECONDS)
+                .minimum(deadline);
+            this.call = this.node.getChannel()
+                .newCall(Executable.this.getMethodDescriptor(), CallOptions.DEFAULT.withDeadline(attemptDeadline));
+            this.node.incrementOutstandingRequests();
+            metrics.onInFlight(node.getAccountId(), node.getOutstandingRequests());
+            return this.call;
+        }
+
+        /**
+         * Must be called exactly once for every call made by {@link GrpcRequest#createCall()} once it has completed
+         */
+        void endCall() {
+            this.node.decrementOutstandingRequests();
+            metrics.onInFlight(node.getAccountId(), node.getOutstandingRequests());
+        }
+
+        /**
+         * Send the request and record its response or error on this object
+         */
+        CompletableFuture<Void> sendAsync() {
+            buildRequest();
+
+            return toCompletableFuture(ClientCalls.futureUnaryCall(createCall(), getRequest())).handle((response, error) -> {
+                endCall();
+
+                this.response = response;
+                this.error = error;
+                return null;
+            });
+        }
+
+        void cancelCall(String message) {
+            if (call != null) {
+                call.cancel(message, null);
+            }
+        }
+
+        @Nullable
+        ResponseT getResponse() {
+            return response;
+        }
+
+        @Nullable
+        Throwable getError() {
+            return error;
         }
 
         public ProtoRequestT getRequest() {
-            return request;
+            return Objects.requireNonNull(request);
         }
 
         public long getDelay() {
             return delay;
         }
 
+        /**
+         * Whether waiting before the next attempt leaves any time for it before the deadline of the request
+         *
+         * @param delay - the wait in milliseconds
+         * @return - whether the next attempt should be made
+         */
+        boolean canWait(long delay) {
+            return deadline.timeRemaining(TimeUnit.MILLISECONDS) > delay;
+        }
+
+        /**
+         * Report a wait before the next attempt to the metrics listener of the client
+         *
+         * @param delay - the wait in milliseconds
+         * @return - {@code delay}
+         */
+        long recordBackoff(long delay) {
+            metrics.onBackoff(node.getAccountId(), method, delay);
+            return delay;
+        }
+
         Throwable reactToConnectionFailure() {
-            node.increaseDelay();
+            metrics.onNodeBackoff(node.getAccountId(), node.increaseDelay());
+            node.recordError();
+
+            // the request was never built, so move on to the next node ourselves
+            if (request == null) {
+                Executable.this.advanceRequest();
+            }
+
             logger.warn("Retrying node {} in {} ms after channel connection failure during attempt #{}",
                 node.getAccountId(), node.getRemainingTimeForBackoff(), attempt);
             return new IllegalStateException("Failed to connect to node " + node.getAccountId());
         }
 
         boolean shouldRetryExceptionally(@Nullable Throwable e) {
-            latency = (double) (System.nanoTime() - startAt) / 1000000000.0;
-
-            var retry = Executable.this.shouldRetryExceptionally(e);
+            var latencyNanos = System.nanoTime() - startAt;
+            latency = (double) latencyNanos / 1000000000.0;
+
+            // an attempt which ran out of its own time is retried while the request has time left
+            var retry = Executable.this.shouldRetryExceptionally(e) || (
+                isDeadlineExceeded(e) &&
+                    Executable.this.retriesTimedOutAttempts() &&
+                    !deadline.isExpired()
+            );
+
+            // this is also asked of attempts which got a response, which report themselves in shouldRetry
+            if (e != null) {
+                var retryReason = retry ? io.grpc.Status.fromThrowable(e).getCode().name() : null;
+                metrics.onAttempt(node.getAccountId(), method, attempt, latencyNanos, null, retryReason);
+            }
 
             if (retry) {
-                node.increaseDelay();
+                metrics.onNodeBackoff(node.getAccountId(), node.increaseDelay());
+                node.recordError();
                 logger.warn("Retrying node {} in {} ms after failure during attempt #{}: {}",
                     node.getAccountId(), node.getRemainingTimeForBackoff(), attempt, e != null ? e.getMessage() : "NULL");
             }
@@ -451,6 +885,24 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
             return retry;
         }
 
+        private boolean isDeadlineExceeded(@Nullable Throwable e) {
+            return e != null && io.grpc.Status.fromThrowable(e).getCode() == Code.DEADLINE_EXCEEDED;
+        }
+
+        /**
+         * @param e - the error of the call
+         * @return - whether the call ran out of its gRPC deadline on a request which isn't sent again, in which case
+         * the node may have accepted it
+         */
+        boolean mayHaveBeenAccepted(@Nullable Throwable e) {
+            return isDeadlineExceeded(e) && !Executable.this.retriesTimedOutAttempts();
+        }
+
+        TransactionTimeoutException mapTimeoutException(Throwable e) {
+            return new TransactionTimeoutException(
+                Objects.requireNonNull(Executable.this.getTransactionId()), node.getAccountId(), e);
+        }
+
         PrecheckStatusException mapStatusException() {
             // request to hedera failed in a non-recoverable way
             return new PrecheckStatusException(responseStatus, Executable.this.getTransactionId());
@@ -458,11 +910,25 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
 
         O mapResponse() {
             // successful response from Hedera
-            return Executable.this.mapResponse(response, node.getAccountId(), request);
+            return Executable.this.mapResponse(response, node.getAccountId(), getRequest());
+        }
+
+        /**
+         * @return whether a response was received which finishes the request, without recording anything about it
+         */
+        boolean hasFinishedResponse() {
+            var received = response;
+
+            return received != null &&
+                Executable.this.shouldRetry(Executable.this.mapResponseStatus(received), received) == ExecutionState.Finished;
         }
 
         ExecutionState shouldRetry(ResponseT response) {
+            var latencyNanos = System.nanoTime() - startAt;
+            latency = (double) latencyNanos / 1000000000.0;
+
             node.decreaseDelay();
+            node.recordLatency(latencyNanos);
 
             this.response = response;
             this.responseStatus = Executable.this.mapResponseStatus(response);
@@ -471,6 +937,14 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
                 responseStatus, latency, node.getAccountId(), attempt, response);
 
             var executionState = Executable.this.shouldRetry(responseStatus, response);
+            var retryReason = executionState == ExecutionState.Retry ? responseStatus.toString() : null;
+            metrics.onAttempt(node.getAccountId(), method, attempt, latencyNanos, responseStatus, retryReason);
+
+            if (executionState == ExecutionState.Retry) {
+                node.recordError();
+            } else {
+                node.recordSuccess();
+            }
 
             switch (executionState) {
                 case Retry:
@@ -485,4 +959,80 @@ abstract class Executable<SdkRequestT, ProtoRequestT, ResponseT, O> implements W
             return executionState;
         }
     }
+
+    /**
+     * Races the calls of a hedged attempt against each other. A call wins once it receives a response which finishes
+     * the request, or when it is the last call still in flight.
+     */
+    private class HedgedCall {
+        private final CompletableFuture<GrpcRequest> winner = new CompletableFuture<>();
+        private final List<GrpcRequest> sent = new ArrayList<>(2);
+        private int inFlight = 0;
+        private boolean decided = false;
+
+        /**
+         * Build and send {@code grpcRequest} unless the race has already been decided. Building happens under the lock
+         * so it can't overlap with the winner's caller moving on and touching the same request state.
+         *
+         * @return - whether the request was sent
+         */
+        boolean send(GrpcRequest grpcRequest) {
+            synchronized (this) {
+                if (decided) {
+                    return false;
+                }
+
+                grpcRequest.buildRequest();
+
+                inFlight++;
+                sent.add(grpcRequest);
+            }
+
+            grpcRequest.sendAsync().thenRun(() -> onAnswer(grpcRequest));
+
+            return true;
+        }
+
+        private void onAnswer(GrpcRequest grpcRequest) {
+            List<GrpcRequest> losers;
+
+            synchronized (this) {
+                inFlight--;
+
+                // a retryable response, such as BUSY, doesn't win while another node may still accept the request:
+                // cancelling that call and retrying could submit the same transaction twice
+                if (decided || (!grpcRequest.hasFinishedResponse() && inFlight > 0)) {
+                    return;
+                }
+
+                decided = true;
+                losers = new ArrayList<>(sent);
+                losers.remove(grpcRequest);
+            }
+
+            for (var loser : losers) {
+                loser.cancelCall("answered by another node");
+            }
+
+            winner.complete(grpcRequest);
+        }
+
+        /**
+         * Cancel every call sent, and send no more
+         */
+        void cancel() {
+            List<GrpcRequest> requests;
+
+            synchronized (this) {
+                decided = true;
+                requests = new ArrayList<>(sent);
+            }
+
+            for (var request : requests) {
+                request.cancelCall("the request was cancelled");
+            }
+
+            winner.cancel(false);
+        }
+    }
 }
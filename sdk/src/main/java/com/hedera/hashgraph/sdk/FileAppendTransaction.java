@@ -11,6 +11,9 @@ import com.hedera.hashgraph.sdk.proto.TransactionResponse;
 import io.grpc.MethodDescriptor;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Objects;
 
@@ -104,6 +107,34 @@ public final class FileAppendTransaction extends ChunkedTransaction<FileAppendTr
         return setData(text);
     }
 
+    /**
+     * <p>Append the contents of a file on disk to the file as identified by {@link #setFileId(FileId)}.
+     *
+     * <p>The file is memory mapped rather than read onto the heap, and each chunk only copies its own part of it out
+     * of the mapping when the transaction is frozen. The file should not change until the transaction has been frozen.
+     *
+     * @param path the file whose contents to append.
+     * @return {@code this}
+     * @throws IOException if the file could not be opened or mapped.
+     */
+    public FileAppendTransaction setContents(Path path) throws IOException {
+        return setData(path);
+    }
+
+    /**
+     * <p>Append the rest of the contents of a channel to the file as identified by {@link #setFileId(FileId)}.
+     *
+     * <p>A {@link java.nio.channels.FileChannel} is memory mapped from its current position, as with
+     * {@link #setContents(Path)}. Any other channel is read to its end, without being copied into a single array.
+     *
+     * @param channel the channel to read the contents from; it is not closed.
+     * @return {@code this}
+     * @throws IOException if the channel could not be read.
+     */
+    public FileAppendTransaction setContents(ReadableByteChannel channel) throws IOException {
+        return setData(channel);
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (fileId != null) {
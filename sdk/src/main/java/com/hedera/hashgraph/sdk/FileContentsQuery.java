@@ -10,7 +10,10 @@ import io.grpc.MethodDescriptor;
 import java8.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.Objects;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Get the contents of a file. The content field is empty (no bytes) if the file is empty.
@@ -40,6 +43,32 @@ public final class FileContentsQuery extends Query<ByteString, FileContentsQuery
         return this;
     }
 
+    /**
+     * Execute the query and write the contents of the file to a channel, instead of handing them back.
+     * <p>
+     * The contents are written from the buffers the response was read into, without first being copied into a single
+     * array.
+     *
+     * @param client The client with which this will be executed.
+     * @param destination The channel to write the contents to; it is not closed.
+     * @return The number of bytes written.
+     * @throws TimeoutException when the transaction times out
+     * @throws PrecheckStatusException when the precheck fails
+     * @throws IOException when the contents could not be written to the channel
+     */
+    public long execute(Client client, WritableByteChannel destination)
+        throws TimeoutException, PrecheckStatusException, IOException {
+        var contents = execute(client);
+
+        for (var buffer : contents.asReadOnlyByteBufferList()) {
+            while (buffer.hasRemaining()) {
+                destination.write(buffer);
+            }
+        }
+
+        return contents.size();
+    }
+
     @Override
     public CompletableFuture<Hbar> getCostAsync(Client client) {
         // deleted accounts return a COST_ANSWER of zero which triggers `INSUFFICIENT_TX_FEE`
@@ -48,6 +77,12 @@ public final class FileContentsQuery extends Query<ByteString, FileContentsQuery
         return super.getCostAsync(client).thenApply((cost) -> Hbar.fromTinybars(Math.max(cost.toTinybars(), 25)));
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the size of the file
+        return super.getCostCacheKey() + "/" + fileId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (fileId != null) {
@@ -11,7 +11,9 @@ import io.grpc.MethodDescriptor;
 import org.threeten.bp.Instant;
 
 import javax.annotation.Nullable;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Objects;
@@ -25,7 +27,7 @@ public final class FileCreateTransaction extends Transaction<FileCreateTransacti
     private Instant expirationTime = null;
     @Nullable
     private KeyList keys = null;
-    private byte[] contents = {};
+    private ByteString contents = ByteString.EMPTY;
     private String fileMemo = "";
 
     public FileCreateTransaction() {
@@ -95,7 +97,7 @@ public final class FileCreateTransaction extends Transaction<FileCreateTransacti
     }
 
     public ByteString getContents() {
-        return ByteString.copyFrom(contents);
+        return contents;
     }
 
     /**
@@ -116,7 +118,7 @@ public final class FileCreateTransaction extends Transaction<FileCreateTransacti
     public FileCreateTransaction setContents(byte[] bytes) {
         requireNotFrozen();
         Objects.requireNonNull(bytes);
-        contents = bytes;
+        contents = ByteString.copyFrom(bytes);
         return this;
     }
 
@@ -142,7 +144,43 @@ public final class FileCreateTransaction extends Transaction<FileCreateTransacti
     public FileCreateTransaction setContents(String text) {
         requireNotFrozen();
         Objects.requireNonNull(text);
-        contents = text.getBytes(StandardCharsets.UTF_8);
+        contents = ByteString.copyFromUtf8(text);
+        return this;
+    }
+
+    /**
+     * <p>Set the contents of a file on disk as the file's contents.
+     *
+     * <p>The file is memory mapped rather than read onto the heap, and is only copied out of the mapping when the
+     * transaction is frozen. The file should not change until the transaction has been frozen.
+     *
+     * <p>Note that total size for a given transaction is limited to 6KiB (as of March 2020) by the
+     * network; use {@link FileAppendTransaction#setContents(Path)} to append the rest of a larger file.
+     *
+     * @param path the file whose contents to use.
+     * @return {@code this}
+     * @throws IOException if the file could not be opened or mapped.
+     */
+    public FileCreateTransaction setContents(Path path) throws IOException {
+        requireNotFrozen();
+        Objects.requireNonNull(path);
+        contents = ChunkedTransaction.readData(path);
+        return this;
+    }
+
+    /**
+     * <p>Set the rest of the contents of a channel as the file's contents.
+     *
+     * <p>A {@link java.nio.channels.FileChannel} is memory mapped from its current position, as with {@link #setContents(Path)}.
+     *
+     * @param channel the channel to read the contents from; it is not closed.
+     * @return {@code this}
+     * @throws IOException if the channel could not be read.
+     */
+    public FileCreateTransaction setContents(ReadableByteChannel channel) throws IOException {
+        requireNotFrozen();
+        Objects.requireNonNull(channel);
+        contents = ChunkedTransaction.readData(channel);
         return this;
     }
 
@@ -175,7 +213,7 @@ public final class FileCreateTransaction extends Transaction<FileCreateTransacti
         if (body.hasKeys()) {
             keys = KeyList.fromProtobuf(body.getKeys(), null);
         }
-        contents = body.getContents().toByteArray();
+        contents = body.getContents();
         fileMemo = body.getMemo();
     }
 
@@ -188,7 +226,7 @@ public final class FileCreateTransaction extends Transaction<FileCreateTransacti
         if (keys != null) {
             builder.setKeys(keys.toProtobuf());
         }
-        builder.setContents(ByteString.copyFrom(contents));
+        builder.setContents(contents);
         builder.setMemo(fileMemo);
 
         return builder;
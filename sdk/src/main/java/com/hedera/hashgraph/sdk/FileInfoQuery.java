@@ -46,6 +46,12 @@ public final class FileInfoQuery extends Query<FileInfo, FileInfoQuery> {
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the file, such as how many keys it has
+        return super.getCostCacheKey() + "/" + fileId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (fileId != null) {
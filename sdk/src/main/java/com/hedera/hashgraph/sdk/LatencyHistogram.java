@@ -0,0 +1,132 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds which can be recorded to from many threads without locking or allocating.
+ * <p>
+ * Values are counted in log-linear buckets, like an HdrHistogram: every power of two is split into 16 buckets, so a
+ * percentile is within 1/16 of the real value. Values from about 18 minutes up are counted in the last bucket.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // values below this have a bucket each
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+    private static final int FIRST_EXPONENT = SUB_BUCKET_BITS + 1;
+    private static final int LAST_EXPONENT = 40;
+    private static final int BUCKETS = LINEAR_BUCKETS + (LAST_EXPONENT - FIRST_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Count a value.
+     *
+     * @param value The value in nanoseconds; negative values are counted as 0
+     */
+    public void record(long value) {
+        var clamped = Math.max(value, 0);
+
+        counts.incrementAndGet(bucketOf(clamped));
+        count.incrementAndGet();
+        sum.addAndGet(clamped);
+
+        for (@Var var current = max.get(); clamped > current; current = max.get()) {
+            if (max.compareAndSet(current, clamped)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return The number of values recorded
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return The largest value recorded, or 0 if none was
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return The mean of the values recorded, or 0 if none was
+     */
+    public double getMean() {
+        var total = count.get();
+        return total > 0 ? (double) sum.get() / total : 0;
+    }
+
+    /**
+     * The value which the given percentage of the recorded values are at or below. Values recorded at the same time
+     * may or may not be included.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The highest value in the bucket of the percentile, or 0 if no value was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+
+        var total = count.get();
+
+        if (total == 0) {
+            return 0;
+        }
+
+        var rank = Math.max((long) Math.ceil(percentile / 100.0 * total), 1);
+        @Var var seen = 0L;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+
+            if (seen >= rank) {
+                return Math.min(lowestValueOf(i + 1) - 1, max.get());
+            }
+        }
+
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        var exponent = 63 - Long.numberOfLeadingZeros(value);
+
+        if (exponent >= LAST_EXPONENT) {
+            return BUCKETS - 1;
+        }
+
+        var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestValueOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+
+        if (bucket >= BUCKETS) {
+            return Long.MAX_VALUE;
+        }
+
+        var exponent = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + FIRST_EXPONENT;
+        var subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -54,6 +54,12 @@ public final class LiveHashQuery extends Query<LiveHash, LiveHashQuery> {
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the account and its live hash
+        return super.getCostCacheKey() + "/" + accountId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (accountId != null) {
@@ -2,20 +2,22 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.errorprone.annotations.Var;
 import java8.util.Lists;
+import java8.util.concurrent.CompletableFuture;
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
 
 import javax.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -39,10 +41,20 @@ abstract class ManagedNetwork<
     protected Map<KeyT, List<ManagedNodeT>> network = new ConcurrentHashMap<>();
 
     /**
-     * The list of nodes. This list is continuously sorted so the leftmost nodes are the "healthiest" {@link ManagedNode#isHealthy()}
+     * The list of nodes. Only read or written while holding the lock on this network; readers which don't take the
+     * lock use {@link ManagedNetwork#snapshot} instead.
      */
     protected List<ManagedNodeT> nodes = new ArrayList<>();
 
+    /**
+     * Immutable copy of {@link ManagedNetwork#nodes} and {@link ManagedNetwork#network}, republished after every change
+     * so node selection never has to take the lock on this network.
+     */
+    private volatile NodeSnapshot<KeyT, ManagedNodeT> snapshot = new NodeSnapshot<>(
+        Collections.emptyList(),
+        Collections.emptyMap()
+    );
+
     /**
      * The current minimum backoff for the nodes in the network. This backoff is used when nodes return a bad
      * gRPC status.
@@ -65,6 +77,16 @@ abstract class ManagedNetwork<
      */
     protected int maxNodeAttempts = DEFAULT_MAX_NODE_ATTEMPTS;
 
+    /**
+     * Number of channels, and so HTTP/2 connections, opened to each node
+     */
+    protected int channelsPerNode = 1;
+
+    /**
+     * How nodes are chosen for a request
+     */
+    protected volatile NodeSelectionPolicy selectionPolicy = NodeSelectionPolicy.ROUND_ROBIN;
+
     /**
      * Is the network using transport security
      */
@@ -158,6 +180,44 @@ abstract class ManagedNetwork<
         return (ManagedNetworkT) this;
     }
 
+    int getChannelsPerNode() {
+        return channelsPerNode;
+    }
+
+    /**
+     * Set the number of channels, and so HTTP/2 connections, opened to each node.
+     *
+     * @param channelsPerNode
+     * @return
+     */
+    synchronized ManagedNetworkT setChannelsPerNode(int channelsPerNode) {
+        this.channelsPerNode = channelsPerNode;
+
+        for (var node : nodes) {
+            node.setChannelCount(channelsPerNode);
+        }
+
+        // noinspection unchecked
+        return (ManagedNetworkT) this;
+    }
+
+    NodeSelectionPolicy getSelectionPolicy() {
+        return selectionPolicy;
+    }
+
+    /**
+     * Set how nodes are chosen for a request
+     *
+     * @param selectionPolicy
+     * @return
+     */
+    synchronized ManagedNetworkT setSelectionPolicy(NodeSelectionPolicy selectionPolicy) {
+        this.selectionPolicy = selectionPolicy;
+
+        // noinspection unchecked
+        return (ManagedNetworkT) this;
+    }
+
     boolean isTransportSecurity() {
         return transportSecurity;
     }
@@ -182,6 +242,8 @@ abstract class ManagedNetwork<
                 nodes.set(i, node);
                 getNodesForKey(node.getKey()).add(node);
             }
+
+            publishSnapshot();
         }
 
         this.transportSecurity = transportSecurity;
@@ -285,6 +347,8 @@ abstract class ManagedNetwork<
             Collections.shuffle(nodeList);
         }
 
+        publishSnapshot();
+
         // noinspection unchecked
         return (ManagedNetworkT) this;
     }
@@ -322,8 +386,10 @@ abstract class ManagedNetwork<
      *
      * @throws InterruptedException - when shutting down nodes
      */
-    protected void removeDeadNodes() throws InterruptedException {
+    protected synchronized void removeDeadNodes() throws InterruptedException {
         if (maxNodeAttempts > 0) {
+            @Var var removed = false;
+
             for (int i = nodes.size() - 1; i >= 0; i--) {
                 var node = Objects.requireNonNull(nodes.get(i));
 
@@ -331,29 +397,100 @@ abstract class ManagedNetwork<
                     node.close(closeTimeout);
                     removeNodeFromNetwork(node);
                     nodes.remove(i);
+                    removed = true;
                 }
             }
+
+            if (removed) {
+                publishSnapshot();
+            }
         }
     }
 
     /**
-     * Returns `count` number of the most healthy nodes. Healthy-ness is determined by sort order; leftmost being most
-     * healthy. This will also remove any nodes which have hit or exceeded {@link ManagedNetwork#maxNodeAttempts}.
+     * Replace {@link ManagedNetwork#snapshot} with a copy of the current nodes. Must be called while holding the lock on
+     * this network after any change to {@link ManagedNetwork#nodes} or {@link ManagedNetwork#network}.
+     */
+    private void publishSnapshot() {
+        var networkCopy = new HashMap<KeyT, List<ManagedNodeT>>(network.size());
+
+        for (var entry : network.entrySet()) {
+            networkCopy.put(entry.getKey(), Lists.copyOf(entry.getValue()));
+        }
+
+        snapshot = new NodeSnapshot<>(Lists.copyOf(nodes), networkCopy);
+    }
+
+    /**
+     * Get the nodes for a key without taking the lock on this network. The returned list is immutable and may be
+     * slightly out of date.
      *
-     * Returns a list of nodes where each node has a unique key.
+     * @param key
+     * @return
+     */
+    @Nullable
+    protected List<ManagedNodeT> getNodesForKeySnapshot(KeyT key) {
+        return snapshot.network.get(key);
+    }
+
+    /**
+     * Get every node without taking the lock on this network. The returned list is immutable and may be slightly out
+     * of date.
+     *
+     * @return
+     */
+    protected List<ManagedNodeT> getNodesSnapshot() {
+        return snapshot.nodes;
+    }
+
+    /**
+     * The number of unique keys in the network, without taking the lock on this network
+     *
+     * @return
+     */
+    protected int getKeyCountSnapshot() {
+        return snapshot.network.size();
+    }
+
+    private boolean hasDeadNodes(List<ManagedNodeT> nodes) {
+        var limit = maxNodeAttempts;
+
+        if (limit > 0) {
+            for (var node : nodes) {
+                if (node.getAttempts() >= limit) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns `count` number of the most healthy nodes, ranked by {@link ManagedNetwork#selectionPolicy}. This will also
+     * remove any nodes which have hit or exceeded {@link ManagedNetwork#maxNodeAttempts}.
+     *
+     * Returns a list of nodes where each node has a unique key, in the order they should be tried.
+     *
+     * This works on an immutable snapshot of the network and only takes the lock on this network when there are
+     * dead nodes to remove, so many threads can pick nodes at the same time.
      *
      * @param count - number of nodes to return
      * @return
      * @throws InterruptedException
      */
-    protected synchronized List<ManagedNodeT> getNumberOfMostHealthyNodes(int count) throws InterruptedException {
-        Collections.sort(nodes);
-        removeDeadNodes();
+    protected List<ManagedNodeT> getNumberOfMostHealthyNodes(int count) throws InterruptedException {
+        @Var var current = snapshot;
 
-        var returnSize = Math.min(count, this.network.size());
-        var returnNodes = new HashMap<KeyT, ManagedNodeT>(returnSize);
+        if (hasDeadNodes(current.nodes)) {
+            removeDeadNodes();
+            current = snapshot;
+        }
+
+        var returnSize = Math.min(count, current.network.size());
+        var returnNodes = new LinkedHashMap<KeyT, ManagedNodeT>(returnSize);
 
-        for (var node : this.nodes) {
+        for (var node : rankNodes(current.nodes, returnSize)) {
             if (returnNodes.size() >= returnSize) {
                 break;
             }
@@ -365,6 +502,66 @@ abstract class ManagedNetwork<
         return Lists.copyOf(returnNodes.values());
     }
 
+    /**
+     * Orders the nodes from most to least preferred according to {@link ManagedNetwork#selectionPolicy}. The healthy
+     * nodes come first, and the others are only ranked when there aren't {@code count} healthy nodes.
+     *
+     * @param nodes - the nodes to order, which are not modified
+     * @param count - the number of nodes wanted
+     * @return
+     */
+    private List<ManagedNodeT> rankNodes(List<ManagedNodeT> nodes, int count) {
+        var policy = selectionPolicy;
+        var healthy = new ArrayList<ManagedNodeT>(nodes.size());
+        var unhealthy = new ArrayList<ManagedNodeT>();
+
+        for (var node : nodes) {
+            if (node.isHealthy()) {
+                healthy.add(node);
+            } else {
+                unhealthy.add(node);
+            }
+        }
+
+        var ranked = new ArrayList<ManagedNodeT>(nodes.size());
+        ranked.addAll(policy.rank(healthy));
+
+        if (ranked.size() < count && !unhealthy.isEmpty()) {
+            ranked.addAll(policy.rank(unhealthy));
+        }
+
+        return ranked;
+    }
+
+    /**
+     * Immutable view of the nodes in a network at one point in time
+     */
+    private static final class NodeSnapshot<KeyT, ManagedNodeT> {
+        final List<ManagedNodeT> nodes;
+        final Map<KeyT, List<ManagedNodeT>> network;
+
+        NodeSnapshot(List<ManagedNodeT> nodes, Map<KeyT, List<ManagedNodeT>> network) {
+            this.nodes = nodes;
+            this.network = network;
+        }
+    }
+
+    /**
+     * Connect to every node at once, rather than to each node on its first request
+     *
+     * @return a future which completes once every node connected, or gave up after 10 seconds
+     */
+    CompletableFuture<Void> warmUp() {
+        var nodes = getNodesSnapshot();
+        var futures = new ArrayList<CompletableFuture<Boolean>>(nodes.size());
+
+        for (var node : nodes) {
+            futures.add(node.warmUp());
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
     /**
      * Close the network with the {@link ManagedNetwork#closeTimeout} duration
      *
@@ -387,9 +584,7 @@ abstract class ManagedNetwork<
 
         // Start the shutdown process on all nodes
         for (var node : nodes) {
-            if (node.channel != null) {
-                node.channel = node.channel.shutdown();
-            }
+            node.shutdown();
         }
 
         // Await termination for all nodes
@@ -398,17 +593,16 @@ abstract class ManagedNetwork<
                 throw new TimeoutException("Failed to properly shutdown all channels");
             }
 
-            if (node.channel != null) {
-                // InterruptedException needs to be caught here to prevent early exist without releasing lock
-                try {
-                    node.channel.awaitTermination(stopAt - Instant.now().getEpochSecond(), TimeUnit.SECONDS);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
-                }
+            // InterruptedException needs to be caught here to prevent early exist without releasing lock
+            try {
+                node.awaitTermination(stopAt - Instant.now().getEpochSecond());
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
             }
         }
 
         nodes.clear();
         network.clear();
+        publishSnapshot();
     }
 }
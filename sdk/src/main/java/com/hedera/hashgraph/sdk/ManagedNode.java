@@ -1,11 +1,21 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.errorprone.annotations.Var;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
 import io.grpc.ChannelCredentials;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
 import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
 import io.grpc.Grpc;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
 import io.grpc.TlsChannelCredentials;
 import io.grpc.inprocess.InProcessChannelBuilder;
 import java8.util.Objects;
@@ -14,14 +24,29 @@ import org.threeten.bp.Duration;
 import javax.annotation.Nullable;
 import java8.util.concurrent.CompletableFuture;
 
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comparable<ManagedNode<N, KeyT>> {
-    private static final int GET_STATE_INTERVAL_MILLIS = 50;
+abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT>
+    implements Comparable<ManagedNode<N, KeyT>>, NodeSelectionPolicy.NodeStats {
     private static final int GET_STATE_TIMEOUT_MILLIS = 10000;
-    private static final int GET_STATE_MAX_ATTEMPTS = GET_STATE_TIMEOUT_MILLIS / GET_STATE_INTERVAL_MILLIS;
-    private boolean hasConnected = false;
+    private static final int LATENCY_SAMPLE_CAPACITY = 64;
+    private static final int MIN_LATENCY_SAMPLES = 8;
+    private static final double EWMA_ALPHA = 0.2;
+    private volatile boolean hasConnected = false;
+
+    /**
+     * The wait for the first channel to this node to be ready, shared by every request waiting for it. Completes with
+     * whether the channel failed to connect, and is cleared when it does so the next request waits again. Only
+     * replaced while holding the node monitor.
+     */
+    @Nullable
+    private CompletableFuture<Boolean> readiness = null;
 
     protected final ExecutorService executor;
 
@@ -34,13 +59,13 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
      * Timestamp of when the last time this node was used in milliseconds.
      * This field is used for healthy-ness calculation.
      */
-    protected long lastUsed = 0;
+    protected volatile long lastUsed = 0;
 
     /**
      * Amount of times this node has been used. "Used" means the channel was used to submit a request.
      * This field is used for healthy-ness calculation
      */
-    protected long useCount = 0;
+    protected final AtomicLong useCount = new AtomicLong();
 
     /**
      * Timestamp of when this node will be considered healthy again
@@ -67,8 +92,54 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
      */
     protected long attempts;
 
+    /**
+     * Ring buffer of the most recent response latencies of this node in nanoseconds. Its monitor guards all of the
+     * latency and error statistics so recording them never contends with the node monitor.
+     */
+    private final long[] latencySamples = new long[LATENCY_SAMPLE_CAPACITY];
+
+    /**
+     * Index in {@link ManagedNode#latencySamples} the next sample will be written to
+     */
+    private int nextLatencySample = 0;
+
+    /**
+     * Number of valid samples in {@link ManagedNode#latencySamples}
+     */
+    private int latencySampleCount = 0;
+
+    /**
+     * Exponentially weighted moving average of the response latency of this node in nanoseconds. Zero until the
+     * first response is received.
+     */
+    private volatile double averageLatency = 0;
+
+    /**
+     * Exponentially weighted moving average of the fraction of requests to this node which failed, from 0 to 1
+     */
+    private volatile double averageErrorRate = 0;
+
+    /**
+     * Number of requests currently in flight to this node
+     */
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+    /**
+     * Number of channels, and so HTTP/2 connections, to open to this node
+     */
+    protected int channelCount = 1;
+
+    /**
+     * Used to spread requests over channels with the same number of calls in flight
+     */
+    private final AtomicInteger nextChannel = new AtomicInteger();
+
+    /**
+     * Pool of {@link ManagedNode#channelCount} channels to this node, created on first use. Only replaced while
+     * holding the node monitor.
+     */
     @Nullable
-    protected ManagedChannel channel = null;
+    protected volatile PooledChannel[] channels = null;
 
     protected ManagedNode(ManagedNodeAddress address, ExecutorService executor) {
         this.executor = executor;
@@ -88,7 +159,8 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
         this.currentBackoff = node.currentBackoff;
         this.attempts = node.attempts;
         this.lastUsed = node.lastUsed;
-        this.useCount = node.useCount;
+        this.useCount.set(node.useCount.get());
+        this.channelCount = node.channelCount;
     }
 
     /**
@@ -157,6 +229,56 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
         return (N) this;
     }
 
+    /**
+     * Get the number of channels opened to this node
+     *
+     * @return
+     */
+    int getChannelCount() {
+        return channelCount;
+    }
+
+    /**
+     * Set the number of channels, and so HTTP/2 connections, to open to this node. Requests are spread over the
+     * channels by the number of calls in flight on each. When the pool already exists, channels are kept or
+     * gracefully shut down as needed.
+     *
+     * @param channelCount
+     * @return
+     */
+    synchronized N setChannelCount(int channelCount) {
+        var current = channels;
+
+        if (current != null && current.length != channelCount) {
+            var resized = Arrays.copyOf(current, channelCount);
+
+            for (int i = current.length; i < channelCount; i++) {
+                resized[i] = createChannel();
+            }
+
+            for (int i = channelCount; i < current.length; i++) {
+                current[i].channel.shutdown();
+            }
+
+            channels = resized;
+        }
+
+        this.channelCount = channelCount;
+
+        // noinspection unchecked
+        return (N) this;
+    }
+
+    @Override
+    public long getUseCount() {
+        return useCount.get();
+    }
+
+    @Override
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
     /**
      * Get the number of times this node has received a bad gRPC status
      * @return
@@ -178,11 +300,15 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
 
     /**
      * Used when a node has received a bad gRPC status
+     *
+     * @return the time the node is backed off for in milliseconds
      */
-    synchronized void increaseDelay() {
+    synchronized long increaseDelay() {
+        var backoff = this.currentBackoff.toMillis();
         this.attempts++;
-        this.backoffUntil = System.currentTimeMillis() + this.currentBackoff.toMillis();
-        this.currentBackoff = Duration.ofMillis(Math.min(this.currentBackoff.toMillis() * 2, this.maxBackoff.toMillis()));
+        this.backoffUntil = System.currentTimeMillis() + backoff;
+        this.currentBackoff = Duration.ofMillis(Math.min(backoff * 2, this.maxBackoff.toMillis()));
+        return backoff;
     }
 
     /**
@@ -204,6 +330,99 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
         return backoffUntil - System.currentTimeMillis();
     }
 
+    /**
+     * Record the latency of a response received from this node
+     *
+     * @param latencyNanos
+     */
+    void recordLatency(long latencyNanos) {
+        synchronized (latencySamples) {
+            latencySamples[nextLatencySample] = latencyNanos;
+            nextLatencySample = (nextLatencySample + 1) % LATENCY_SAMPLE_CAPACITY;
+            latencySampleCount = Math.min(latencySampleCount + 1, LATENCY_SAMPLE_CAPACITY);
+
+            averageLatency = averageLatency == 0 ?
+                latencyNanos :
+                averageLatency + EWMA_ALPHA * (latencyNanos - averageLatency);
+        }
+    }
+
+    /**
+     * Record a request to this node which succeeded
+     */
+    void recordSuccess() {
+        synchronized (latencySamples) {
+            averageErrorRate = averageErrorRate * (1 - EWMA_ALPHA);
+        }
+    }
+
+    /**
+     * Record a request to this node which failed with a connection failure, a bad gRPC status, or a retryable
+     * precheck status
+     */
+    void recordError() {
+        synchronized (latencySamples) {
+            averageErrorRate = averageErrorRate * (1 - EWMA_ALPHA) + EWMA_ALPHA;
+        }
+    }
+
+    /**
+     * Get the moving average of the response latency of this node in nanoseconds
+     *
+     * @return - the average latency, or 0 if no response has been received yet
+     */
+    @Override
+    public double getAverageLatency() {
+        return averageLatency;
+    }
+
+    /**
+     * Get the moving average of the fraction of requests to this node which failed
+     *
+     * @return
+     */
+    @Override
+    public double getAverageErrorRate() {
+        return averageErrorRate;
+    }
+
+    @Override
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    void incrementOutstandingRequests() {
+        outstandingRequests.incrementAndGet();
+    }
+
+    void decrementOutstandingRequests() {
+        outstandingRequests.decrementAndGet();
+    }
+
+    /**
+     * Get the given percentile of the recently observed latencies of this node in milliseconds
+     *
+     * @param percentile - a percentile in the range (0, 100]
+     * @return - the latency, or -1 if too few responses have been observed to give a meaningful answer
+     */
+    long getLatencyPercentile(double percentile) {
+        long[] samples;
+
+        synchronized (latencySamples) {
+            if (latencySampleCount < MIN_LATENCY_SAMPLES) {
+                return -1;
+            }
+
+            samples = Arrays.copyOf(latencySamples, latencySampleCount);
+        }
+
+        Arrays.sort(samples);
+
+        var index = Math.max((int) Math.ceil(percentile / 100.0 * samples.length) - 1, 0);
+
+        return TimeUnit.NANOSECONDS.toMillis(samples[Math.min(index, samples.length - 1)]);
+    }
+
     /**
      * Create TLS credentials when transport security is enabled
      *
@@ -214,18 +433,62 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
     }
 
     /**
-     * Get the gRPC channel for this node
+     * Get the gRPC channel for this node with the fewest calls in flight. This doesn't take the node monitor unless
+     * the channels still need to be created.
      *
      * @return
      */
-    synchronized ManagedChannel getChannel() {
-        useCount++;
+    Channel getChannel() {
+        useCount.incrementAndGet();
         lastUsed = System.currentTimeMillis();
 
-        if (channel != null) {
-            return channel;
+        var pool = getChannels();
+        var start = nextChannel.getAndIncrement();
+
+        @Var var chosen = pool[Math.floorMod(start, pool.length)];
+
+        for (int i = 1; i < pool.length; i++) {
+            var candidate = pool[Math.floorMod(start + i, pool.length)];
+
+            if (candidate.activeCalls.get() < chosen.activeCalls.get()) {
+                chosen = candidate;
+            }
+        }
+
+        return chosen.countingChannel;
+    }
+
+    /**
+     * Get the pool of channels for this node, creating it if needed
+     *
+     * @return
+     */
+    PooledChannel[] getChannels() {
+        var pool = channels;
+
+        if (pool != null) {
+            return pool;
+        }
+
+        synchronized (this) {
+            var current = channels;
+
+            if (current != null) {
+                return current;
+            }
+
+            var created = new PooledChannel[channelCount];
+
+            for (int i = 0; i < created.length; i++) {
+                created[i] = createChannel();
+            }
+
+            channels = created;
+            return created;
         }
+    }
 
+    private PooledChannel createChannel() {
         ManagedChannelBuilder<?> channelBuilder;
 
         if (address.isInProcess()) {
@@ -236,46 +499,144 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
             channelBuilder = ManagedChannelBuilder.forTarget(address.toString()).usePlaintext();
         }
 
-        channel = channelBuilder
+        var channel = channelBuilder
             .keepAliveTimeout(10, TimeUnit.SECONDS)
             .userAgent(getUserAgent())
             .executor(executor)
             .build();
 
-        return channel;
+        return new PooledChannel(channel);
     }
 
-    boolean channelFailedToConnect() {
+    /**
+     * @return whether a channel to this node has been seen ready, so requests don't need to wait for it to connect
+     */
+    boolean hasConnected() {
+        return hasConnected;
+    }
+
+    /**
+     * Block until the first channel to this node is ready, for up to 10 seconds or {@code timeoutMillis}, whichever is
+     * shorter
+     *
+     * @param timeoutMillis the time the caller has left to wait
+     * @return whether the channel failed to connect within the wait
+     */
+    boolean channelFailedToConnect(long timeoutMillis) {
         if (hasConnected) {
             return false;
         }
-        hasConnected = (getChannel().getState(true) == ConnectivityState.READY);
+
         try {
-            for (@Var int i = 0; i < GET_STATE_MAX_ATTEMPTS && !hasConnected; i++) {
-                TimeUnit.MILLISECONDS.sleep(GET_STATE_INTERVAL_MILLIS);
-                hasConnected = (getChannel().getState(true) == ConnectivityState.READY);
-            }
+            return awaitReadiness().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return true;
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            // the readiness future has no way to complete exceptionally
+            throw new IllegalStateException(e);
         }
-        return !hasConnected;
     }
 
-    private CompletableFuture<Boolean> channelFailedToConnectAsync(int i, ConnectivityState state) {
-        hasConnected = (state == ConnectivityState.READY);
-        if (i >= GET_STATE_MAX_ATTEMPTS || hasConnected) {
-            return CompletableFuture.completedFuture(!hasConnected);
-        }
-        return Delayer.delayFor(GET_STATE_INTERVAL_MILLIS, executor).thenCompose(ignored -> {
-            return channelFailedToConnectAsync(i + 1, getChannel().getState(true));
-        });
+    /**
+     * Wait for the first channel to this node to be ready, for up to 10 seconds. Requests waiting at the same time
+     * share the wait, which must not be cancelled.
+     *
+     * @return a future of whether the channel failed to connect
+     */
+    CompletableFuture<Boolean> channelFailedToConnectAsync() {
+        return channelFailedToConnectAsync(GET_STATE_TIMEOUT_MILLIS);
     }
 
-    CompletableFuture<Boolean> channelFailedToConnectAsync() {
+    /**
+     * Wait for the first channel to this node to be ready, for up to 10 seconds or {@code timeoutMillis}, whichever is
+     * shorter. A caller which gives up sooner stops waiting on its own; the shared wait goes on for the others.
+     *
+     * @param timeoutMillis the time the caller has left to wait
+     * @return a future of whether the channel failed to connect within the wait
+     */
+    CompletableFuture<Boolean> channelFailedToConnectAsync(long timeoutMillis) {
         if (hasConnected) {
             return CompletableFuture.completedFuture(false);
         }
-        return channelFailedToConnectAsync(0, getChannel().getState(true));
+
+        var shared = awaitReadiness();
+
+        if (timeoutMillis >= GET_STATE_TIMEOUT_MILLIS || shared.isDone()) {
+            return shared;
+        }
+
+        var failed = new CompletableFuture<Boolean>();
+        var timeout = Delayer.delayFor(timeoutMillis, executor);
+
+        timeout.whenComplete((v, error) -> failed.complete(true));
+        shared.thenAccept(result -> {
+            failed.complete(result);
+            timeout.cancel(false);
+        });
+
+        return failed;
+    }
+
+    /**
+     * Ask every channel to this node to connect now, rather than on the first request
+     *
+     * @return a future of whether the first channel failed to connect within 10 seconds
+     */
+    CompletableFuture<Boolean> warmUp() {
+        for (var pooled : getChannels()) {
+            pooled.channel.getState(true);
+        }
+
+        return channelFailedToConnectAsync();
+    }
+
+    private synchronized CompletableFuture<Boolean> awaitReadiness() {
+        var current = readiness;
+
+        if (current != null) {
+            return current;
+        }
+
+        var channel = getChannels()[0].channel;
+        var ready = new CompletableFuture<Boolean>();
+        readiness = ready;
+
+        var timeout = Delayer.delayFor(GET_STATE_TIMEOUT_MILLIS, executor);
+        timeout.whenComplete((v, error) -> failReadiness(ready));
+        ready.thenRun(() -> timeout.cancel(false));
+
+        watchState(channel, ready);
+
+        return ready;
+    }
+
+    /**
+     * Complete {@code ready} once {@code channel} is ready, driven by the channel telling us when its state changes
+     * rather than by polling it
+     */
+    private void watchState(ManagedChannel channel, CompletableFuture<Boolean> ready) {
+        if (ready.isDone()) {
+            return;
+        }
+
+        var state = channel.getState(true);
+
+        if (state == ConnectivityState.READY) {
+            hasConnected = true;
+            ready.complete(false);
+        } else if (state == ConnectivityState.SHUTDOWN) {
+            failReadiness(ready);
+        } else {
+            channel.notifyWhenStateChanged(state, () -> watchState(channel, ready));
+        }
+    }
+
+    private synchronized void failReadiness(CompletableFuture<Boolean> ready) {
+        if (ready.complete(true) && readiness == ready) {
+            readiness = null;
+        }
     }
 
     /**
@@ -285,10 +646,43 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
      * @throws InterruptedException
      */
     synchronized void close(Duration timeout) throws InterruptedException {
-        if (channel != null) {
-            channel.shutdown();
-            channel.awaitTermination(timeout.getSeconds(), TimeUnit.SECONDS);
-            channel = null;
+        if (channels != null) {
+            shutdown();
+            awaitTermination(timeout.getSeconds());
+            channels = null;
+            readiness = null;
+            hasConnected = false;
+        }
+    }
+
+    /**
+     * Start shutting down every channel to this node without waiting
+     */
+    synchronized void shutdown() {
+        var pool = channels;
+
+        if (pool != null) {
+            for (var pooled : pool) {
+                pooled.channel.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Wait for every channel to this node to finish shutting down
+     *
+     * @param seconds - how long to wait for all of the channels together
+     * @throws InterruptedException
+     */
+    void awaitTermination(long seconds) throws InterruptedException {
+        var pool = channels;
+
+        if (pool != null) {
+            var stopAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+            for (var pooled : pool) {
+                pooled.channel.awaitTermination(Math.max(stopAt - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            }
         }
     }
 
@@ -315,9 +709,12 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
     }
 
     private int compareToSameHealth(ManagedNode<N, KeyT> node) {
-        if (this.useCount < node.useCount) {
+        var useCount = this.useCount.get();
+        var otherUseCount = node.useCount.get();
+
+        if (useCount < otherUseCount) {
             return -1;
-        } else if (this.useCount > node.useCount) {
+        } else if (useCount > otherUseCount) {
             return 1;
         } else {
             if (this.lastUsed < node.lastUsed) {
@@ -330,6 +727,63 @@ abstract class ManagedNode<N extends ManagedNode<N, KeyT>, KeyT> implements Comp
         }
     }
 
+    /**
+     * A channel in the pool of a node, along with the number of calls in flight on it
+     */
+    static final class PooledChannel {
+        final ManagedChannel channel;
+
+        final AtomicInteger activeCalls = new AtomicInteger();
+
+        /**
+         * {@link PooledChannel#channel} intercepted to keep {@link PooledChannel#activeCalls} up to date
+         */
+        final Channel countingChannel;
+
+        PooledChannel(ManagedChannel channel) {
+            this.channel = channel;
+            this.countingChannel = ClientInterceptors.intercept(channel, new ActiveCallsInterceptor(activeCalls));
+        }
+    }
+
+    /**
+     * Counts calls from when they're started until they're closed
+     */
+    private static final class ActiveCallsInterceptor implements ClientInterceptor {
+        private final AtomicInteger activeCalls;
+
+        ActiveCallsInterceptor(AtomicInteger activeCalls) {
+            this.activeCalls = activeCalls;
+        }
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method,
+            CallOptions callOptions,
+            Channel next
+        ) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    activeCalls.incrementAndGet();
+
+                    try {
+                        super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                activeCalls.decrementAndGet();
+                                super.onClose(status, trailers);
+                            }
+                        }, headers);
+                    } catch (RuntimeException e) {
+                        activeCalls.decrementAndGet();
+                        throw e;
+                    }
+                }
+            };
+        }
+    }
+
     private String getUserAgent() {
         var thePackage = getClass().getPackage();
         var implementationVersion = thePackage != null ? thePackage.getImplementationVersion() : null;
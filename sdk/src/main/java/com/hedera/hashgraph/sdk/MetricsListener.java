@@ -0,0 +1,107 @@
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+
+/**
+ * Receives what happens to each request a client sends to the network, to feed a metrics system.
+ * <p>
+ * A request is identified by its gRPC method, such as {@code proto.CryptoService/cryptoTransfer}. The methods are
+ * called on the threads executing requests, often while a caller waits, so they should only record and return. All of
+ * them do nothing by default. {@link RequestMetrics} keeps the metrics in memory without any dependencies.
+ *
+ * @see Client#setMetricsListener(MetricsListener)
+ */
+public interface MetricsListener {
+    /**
+     * An attempt of a request was answered by a node, whether with a response or a gRPC error.
+     *
+     * @param nodeAccountId The node the attempt was sent to
+     * @param method        The gRPC method of the request
+     * @param attempt       The attempt number, starting at 1
+     * @param latencyNanos  The time from sending the attempt to its answer in nanoseconds
+     * @param status        The precheck status of the response, or {@code null} if the node answered with a gRPC error
+     * @param retryReason   Why the request is retried, such as the precheck status or gRPC status code, or
+     *                      {@code null} if it isn't
+     */
+    default void onAttempt(
+        AccountId nodeAccountId,
+        String method,
+        int attempt,
+        long latencyNanos,
+        @Nullable Status status,
+        @Nullable String retryReason
+    ) {
+    }
+
+    /**
+     * A request is waiting before its next attempt, either to back off after a failure or for a node to become
+     * healthy again.
+     *
+     * @param nodeAccountId The node of the attempt it waits after
+     * @param method        The gRPC method of the request
+     * @param delayMillis   The time it waits in milliseconds
+     */
+    default void onBackoff(AccountId nodeAccountId, String method, long delayMillis) {
+    }
+
+    /**
+     * A request failed with a {@link MaxAttemptsExceededException}.
+     *
+     * @param method      The gRPC method of the request
+     * @param maxAttempts The number of attempts it made
+     */
+    default void onMaxAttemptsExceeded(String method, int maxAttempts) {
+    }
+
+    /**
+     * The number of calls in flight to a node changed.
+     *
+     * @param nodeAccountId The node
+     * @param inFlight      The number of calls now in flight to it
+     */
+    default void onInFlight(AccountId nodeAccountId, int inFlight) {
+    }
+
+    /**
+     * A node was backed off after a failure, so requests avoid it until it is healthy again.
+     *
+     * @param nodeAccountId The node
+     * @param backoffMillis The time it is backed off for in milliseconds
+     */
+    default void onNodeBackoff(AccountId nodeAccountId, long backoffMillis) {
+    }
+
+    /**
+     * A request waited for the channel to a node which hadn't connected yet. A channel which fails to connect fails
+     * the attempt, which is retried.
+     *
+     * @param nodeAccountId The node
+     * @param waitNanos     The time it waited in nanoseconds
+     * @param connected     Whether the channel connected
+     */
+    default void onChannelConnect(AccountId nodeAccountId, long waitNanos, boolean connected) {
+    }
+
+    /**
+     * The request for an attempt was built for a node, which for a transaction or a paid query is when it is signed
+     * for that node.
+     *
+     * @param nodeAccountId The node the request is for
+     * @param method        The gRPC method of the request
+     * @param durationNanos The time it took in nanoseconds
+     */
+    default void onBuildRequest(AccountId nodeAccountId, String method, long durationNanos) {
+    }
+
+    /**
+     * A topic subscription failed and is waiting to open its stream again.
+     *
+     * @param topicId     The topic
+     * @param mirrorNode  The address of the mirror node the stream failed on
+     * @param attempt     The attempt number of the failed stream
+     * @param delayMillis The time it waits before opening the stream again in milliseconds
+     * @param reason      The gRPC status code the stream failed with
+     */
+    default void onTopicReconnect(TopicId topicId, String mirrorNode, int attempt, long delayMillis, String reason) {
+    }
+}
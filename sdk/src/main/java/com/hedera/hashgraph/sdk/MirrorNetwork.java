@@ -2,6 +2,7 @@ package com.hedera.hashgraph.sdk;
 
 import java8.util.Lists;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -55,10 +56,36 @@ class MirrorNetwork extends ManagedNetwork<MirrorNetwork, ManagedNodeAddress, Mi
 
     @Override
     protected MirrorNode createNodeFromNetworkEntry(Map.Entry<String, ManagedNodeAddress> entry) {
-        return new MirrorNode(entry.getKey(), executor).setMinBackoff(minBackoff);
+        return new MirrorNode(entry.getKey(), executor)
+            .setMinBackoff(minBackoff)
+            .setChannelCount(channelsPerNode);
     }
 
-    synchronized MirrorNode getNextMirrorNode() throws InterruptedException {
+    MirrorNode getNextMirrorNode() throws InterruptedException {
         return getNumberOfMostHealthyNodes(1).get(0);
     }
+
+    /**
+     * Get the next mirror node for a stream which failed on {@code failedNode}, which is only picked again when it is
+     * the only mirror node in the network.
+     *
+     * @param failedNode - the node the stream failed on, or {@code null} for a new stream
+     * @return
+     * @throws InterruptedException
+     */
+    MirrorNode getNextMirrorNode(@Nullable MirrorNode failedNode) throws InterruptedException {
+        if (failedNode == null) {
+            return getNextMirrorNode();
+        }
+
+        var nodes = getNumberOfMostHealthyNodes(2);
+
+        for (var node : nodes) {
+            if (!node.getKey().equals(failedNode.getKey())) {
+                return node;
+            }
+        }
+
+        return nodes.get(0);
+    }
 }
@@ -22,7 +22,7 @@ import java.util.concurrent.TimeoutException;
 
 class Network extends ManagedNetwork<Network, AccountId, Node> {
     @Nullable
-    private Integer maxNodesPerRequest;
+    private volatile Integer maxNodesPerRequest;
 
     /**
      * The protobuf address book converted into a map of node account IDs to NodeAddress
@@ -297,6 +297,7 @@ class Network extends ManagedNetwork<Network, AccountId, Node> {
     protected Node createNodeFromNetworkEntry(Map.Entry<String, AccountId> entry) {
         return new Node(entry.getValue(), entry.getKey(), executor)
             .setMinBackoff(minBackoff)
+            .setChannelCount(channelsPerNode)
             .setVerifyCertificates(verifyCertificates);
     }
 
@@ -306,7 +307,7 @@ class Network extends ManagedNetwork<Network, AccountId, Node> {
      *
      * @return {@link java.util.List<com.hedera.hashgraph.sdk.AccountId>}
      */
-    synchronized List<AccountId> getNodeAccountIdsForExecute() throws InterruptedException {
+    List<AccountId> getNodeAccountIdsForExecute() throws InterruptedException {
         var nodes = getNumberOfMostHealthyNodes(getNumberOfNodesForRequest());
         var nodeAccountIds = new ArrayList<AccountId>(nodes.size());
 
@@ -324,13 +325,13 @@ class Network extends ManagedNetwork<Network, AccountId, Node> {
 
     int getNumberOfNodesForRequest() {
         if (maxNodesPerRequest != null) {
-            return Math.min(maxNodesPerRequest, network.size());
+            return Math.min(maxNodesPerRequest, getKeyCountSnapshot());
         } else {
-            return (network.size() + 3 - 1) / 3;
+            return (getKeyCountSnapshot() + 3 - 1) / 3;
         }
     }
 
     Node getNode(AccountId nodeAccountId) {
-        return Collections.min(network.get(nodeAccountId));
+        return Collections.min(Objects.requireNonNull(getNodesForKeySnapshot(nodeAccountId)));
     }
 }
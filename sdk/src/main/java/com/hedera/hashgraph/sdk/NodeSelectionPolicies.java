@@ -0,0 +1,164 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import java8.util.function.ToDoubleFunction;
+import java8.util.function.ToLongFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The policies built into {@link NodeSelectionPolicy}
+ */
+final class NodeSelectionPolicies {
+    /**
+     * How much a node's error rate inflates its latency when weighting nodes by latency. A node which fails every
+     * request is treated as being this many times slower than its latency alone suggests, plus one.
+     */
+    private static final double ERROR_RATE_PENALTY = 10;
+
+    private NodeSelectionPolicies() {
+    }
+
+    /**
+     * @param name       - the name of the policy
+     * @param score      - scoring function where lower is better
+     * @param tieBreaker - scoring function for nodes with the same score where lower is better
+     * @return - a policy which orders nodes by ascending {@code score}, then by ascending {@code tieBreaker}
+     */
+    static NodeSelectionPolicy rankBy(
+        String name,
+        ToDoubleFunction<NodeSelectionPolicy.NodeStats> score,
+        ToLongFunction<NodeSelectionPolicy.NodeStats> tieBreaker
+    ) {
+        return new NodeSelectionPolicy() {
+            @Override
+            public <N extends NodeSelectionPolicy.NodeStats> List<N> rank(List<N> nodes) {
+                return rankBy(nodes, score, tieBreaker);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * Orders the nodes by ascending {@code score}, then by ascending {@code tieBreaker}. Every node is scored exactly
+     * once before sorting so that nodes being updated concurrently can't make the ordering inconsistent.
+     *
+     * @param nodes - the nodes to order, which are not modified
+     * @param score - scoring function where lower is better
+     * @param tieBreaker - scoring function for nodes with the same score where lower is better
+     * @return
+     */
+    private static <N extends NodeSelectionPolicy.NodeStats> List<N> rankBy(
+        List<N> nodes,
+        ToDoubleFunction<? super N> score,
+        ToLongFunction<? super N> tieBreaker
+    ) {
+        var size = nodes.size();
+        var scores = new double[size];
+        var tieBreakers = new long[size];
+        var order = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            var node = nodes.get(i);
+
+            scores[i] = score.applyAsDouble(node);
+            tieBreakers[i] = tieBreaker.applyAsLong(node);
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> {
+            var byScore = Double.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Long.compare(tieBreakers[a], tieBreakers[b]);
+        });
+
+        var ranked = new ArrayList<N>(size);
+        for (var index : order) {
+            ranked.add(nodes.get(index));
+        }
+
+        return ranked;
+    }
+
+    /**
+     * Weighted random ordering without replacement where each node's weight is the inverse of its expected cost; its
+     * average latency inflated by its error rate. Each node draws {@code -ln(U) * cost} and the lowest draws win.
+     */
+    static final class LatencyWeighted implements NodeSelectionPolicy {
+        @Override
+        public <N extends NodeStats> List<N> rank(List<N> nodes) {
+            @Var var fastest = Double.MAX_VALUE;
+
+            for (var node : nodes) {
+                var latency = node.getAverageLatency();
+                if (latency > 0 && latency < fastest) {
+                    fastest = latency;
+                }
+            }
+
+            var defaultLatency = fastest == Double.MAX_VALUE ? 1 : fastest;
+            var random = ThreadLocalRandom.current();
+
+            return rankBy(nodes, node -> {
+                var latency = node.getAverageLatency() > 0 ? node.getAverageLatency() : defaultLatency;
+                var cost = latency * (1 + ERROR_RATE_PENALTY * node.getAverageErrorRate());
+
+                return -Math.log(random.nextDouble()) * cost;
+            }, NodeStats::getUseCount);
+        }
+
+        @Override
+        public String toString() {
+            return "LATENCY_WEIGHTED";
+        }
+    }
+
+    /**
+     * Orders the nodes by repeatedly picking the less loaded of two random remaining nodes.
+     */
+    static final class PowerOfTwoChoices implements NodeSelectionPolicy {
+        @Override
+        public <N extends NodeStats> List<N> rank(List<N> nodes) {
+            var candidates = new ArrayList<N>(nodes);
+            var ranked = new ArrayList<N>(nodes.size());
+            var random = ThreadLocalRandom.current();
+
+            while (!candidates.isEmpty()) {
+                var last = candidates.size() - 1;
+                var first = random.nextInt(candidates.size());
+                var second = random.nextInt(candidates.size());
+                var chosen = isLessLoaded(candidates.get(second), candidates.get(first)) ? second : first;
+
+                ranked.add(candidates.get(chosen));
+
+                // swap the chosen node to the end so it can be removed in constant time
+                candidates.set(chosen, candidates.get(last));
+                candidates.remove(last);
+            }
+
+            return ranked;
+        }
+
+        private static boolean isLessLoaded(NodeStats node, NodeStats other) {
+            var outstanding = node.getOutstandingRequests();
+            var otherOutstanding = other.getOutstandingRequests();
+
+            if (outstanding != otherOutstanding) {
+                return outstanding < otherOutstanding;
+            }
+
+            return node.getAverageLatency() < other.getAverageLatency();
+        }
+
+        @Override
+        public String toString() {
+            return "POWER_OF_TWO_CHOICES";
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.hedera.hashgraph.sdk;
+
+import java.util.List;
+
+/**
+ * How the client chooses which nodes a request is prepared for and in which order they are tried.
+ * <p>
+ * The client asks the policy to rank the nodes which are healthy, meaning they are not backing off after a bad gRPC
+ * status. Only when a request needs more nodes than are healthy are the other nodes ranked too, and tried after them.
+ * A policy may be called from many threads at once, with statistics which change while it looks at them.
+ */
+public interface NodeSelectionPolicy {
+    /**
+     * Prefer the node which has been used the least, and among those the node which was used least recently.
+     * This spreads requests evenly over the network regardless of how the nodes are performing.
+     */
+    NodeSelectionPolicy ROUND_ROBIN = NodeSelectionPolicies.rankBy(
+        "ROUND_ROBIN", NodeStats::getUseCount, NodeStats::getLastUsed);
+
+    /**
+     * For every pick, compare two random nodes and take the one with fewer requests in flight, breaking ties with
+     * the lower average latency. This follows load closely while keeping some randomness, so many clients don't all
+     * pile onto the same node.
+     */
+    NodeSelectionPolicy POWER_OF_TWO_CHOICES = new NodeSelectionPolicies.PowerOfTwoChoices();
+
+    /**
+     * Prefer the node with the fewest requests in flight, and among those the node which has been used the least.
+     */
+    NodeSelectionPolicy LEAST_OUTSTANDING_REQUESTS = NodeSelectionPolicies.rankBy(
+        "LEAST_OUTSTANDING_REQUESTS", NodeStats::getOutstandingRequests, NodeStats::getUseCount);
+
+    /**
+     * Pick nodes at random, weighted towards nodes with a low average latency and error rate. Nodes which haven't
+     * answered yet are treated as being as fast as the fastest known node so they still get tried.
+     */
+    NodeSelectionPolicy LATENCY_WEIGHTED = new NodeSelectionPolicies.LatencyWeighted();
+
+    /**
+     * Order nodes from most to least preferred.
+     *
+     * @param nodes the nodes to order, which must not be modified
+     * @param <N>   the type of the nodes
+     * @return the same nodes, each once, in the order they should be tried
+     */
+    <N extends NodeStats> List<N> rank(List<N> nodes);
+
+    /**
+     * What the client knows about a node when choosing between nodes
+     */
+    interface NodeStats {
+        /**
+         * @return the number of requests this node has been chosen for
+         */
+        long getUseCount();
+
+        /**
+         * @return when this node was last chosen for a request, in milliseconds since the epoch, or 0 if never
+         */
+        long getLastUsed();
+
+        /**
+         * @return the number of requests sent to this node which haven't been answered yet
+         */
+        int getOutstandingRequests();
+
+        /**
+         * @return the moving average of the response latency of this node in nanoseconds, or 0 if no response has
+         * been received yet
+         */
+        double getAverageLatency();
+
+        /**
+         * @return the moving average of the fraction of requests to this node which failed
+         */
+        double getAverageErrorRate();
+    }
+}
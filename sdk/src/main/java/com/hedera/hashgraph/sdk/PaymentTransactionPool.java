@@ -0,0 +1,202 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import org.threeten.bp.Duration;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Signed query payment transactions, built in the background and ready to be handed out.
+ * <p>
+ * A payment pays a single node a single amount, so the pool keeps a separate queue for each node and amount. A queue
+ * is only created once a query has paid that node that amount, and is topped back up to {@link #size} payments after
+ * every payment taken from it, so nothing is built for nodes a client never sends queries to. A payment is only handed
+ * out while it has long enough left before its transaction ID expires to reach the node.
+ */
+final class PaymentTransactionPool {
+    // a payment is valid for the default transaction valid duration from its valid start, which is in the past already;
+    // leave enough of that for the query to be sent and retried
+    private static final Duration DEFAULT_LIFETIME = Duration.ofSeconds(90);
+
+    private static final int MAX_QUEUES = 256;
+
+    private final Executor executor;
+    private final int size;
+    private final long lifetime;
+
+    private final ConcurrentHashMap<String, Payments> queues = new ConcurrentHashMap<>();
+
+    PaymentTransactionPool(Executor executor, int size) {
+        this(executor, size, DEFAULT_LIFETIME);
+    }
+
+    PaymentTransactionPool(Executor executor, int size, Duration lifetime) {
+        this.executor = executor;
+        this.size = size;
+        this.lifetime = lifetime.toMillis();
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Take a payment from the pool, or build one if there isn't one ready.
+     *
+     * @param nodeId - the node to pay
+     * @param operator - the account paying
+     * @param amount - the amount to pay
+     * @return - a signed payment transaction which has not been handed out before
+     */
+    Payment take(AccountId nodeId, Client.Operator operator, Hbar amount) {
+        var key = nodeId + "/" + amount.toTinybars();
+        @Var var payments = queues.get(key);
+
+        if (payments == null || payments.operator != operator) {
+            if (payments == null && queues.size() >= MAX_QUEUES) {
+                // more node and amount pairs than are worth keeping payments ready for
+                return build(nodeId, operator, amount);
+            }
+
+            payments = new Payments(nodeId, operator, amount);
+            queues.put(key, payments);
+        }
+
+        var payment = payments.poll();
+        payments.refill();
+
+        return payment != null ? payment : build(nodeId, operator, amount);
+    }
+
+    private Payment build(AccountId nodeId, Client.Operator operator, Hbar amount) {
+        var transactionId = TransactionId.generate(operator.accountId);
+        var transaction = Query.makePaymentTransaction(transactionId, nodeId, operator, amount);
+
+        return new Payment(transactionId, transaction, expiresAt(transactionId));
+    }
+
+    private long expiresAt(TransactionId transactionId) {
+        return Objects.requireNonNull(transactionId.validStart).toEpochMilli() + lifetime;
+    }
+
+    static final class Payment {
+        final TransactionId transactionId;
+        final Transaction transaction;
+        final long expiresAt;
+
+        Payment(TransactionId transactionId, Transaction transaction, long expiresAt) {
+            this.transactionId = transactionId;
+            this.transaction = transaction;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final class Payments {
+        final AccountId nodeId;
+        final Client.Operator operator;
+        final Hbar amount;
+
+        final ConcurrentLinkedQueue<Payment> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicBoolean refilling = new AtomicBoolean();
+
+        Payments(AccountId nodeId, Client.Operator operator, Hbar amount) {
+            this.nodeId = nodeId;
+            this.operator = operator;
+            this.amount = amount;
+        }
+
+        @Nullable
+        Payment poll() {
+            var now = System.currentTimeMillis();
+
+            @Var var payment = queue.poll();
+
+            while (payment != null) {
+                count.decrementAndGet();
+
+                if (payment.expiresAt > now) {
+                    return payment;
+                }
+
+                payment = queue.poll();
+            }
+
+            return null;
+        }
+
+        void refill() {
+            if (count.get() >= size || !refilling.compareAndSet(false, true)) {
+                return;
+            }
+
+            var batchSigner = operator.batchSigner;
+
+            if (batchSigner != null) {
+                executor.execute(() -> refillWithBatch(batchSigner));
+                return;
+            }
+
+            executor.execute(() -> {
+                try {
+                    while (count.get() < size) {
+                        queue.add(build(nodeId, operator, amount));
+                        count.incrementAndGet();
+                    }
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        }
+
+        /**
+         * Build the missing payments unsigned, then sign all of them with a single call to the batch signer. Nothing
+         * waits on the signer, so a slow or remote signer doesn't hold a thread of the executor.
+         */
+        private void refillWithBatch(BatchTransactionSigner batchSigner) {
+            var missing = size - count.get();
+            var transactionIds = new ArrayList<TransactionId>(missing);
+            var transfers = new ArrayList<TransferTransaction>(missing);
+
+            try {
+                for (int i = 0; i < missing; i++) {
+                    var transactionId = TransactionId.generate(operator.accountId);
+
+                    transactionIds.add(transactionId);
+                    transfers.add(Query.makeUnsignedPaymentTransaction(transactionId, nodeId, operator, amount));
+                }
+
+                com.hedera.hashgraph.sdk.Transaction.signAllWithBatch(transfers, operator.publicKey, batchSigner)
+                    .whenComplete((ignored, error) -> {
+                        try {
+                            if (error == null) {
+                                for (int i = 0; i < transfers.size(); i++) {
+                                    var transactionId = transactionIds.get(i);
+
+                                    queue.add(new Payment(
+                                        transactionId,
+                                        transfers.get(i).makeRequest(),
+                                        expiresAt(transactionId)
+                                    ));
+                                    count.incrementAndGet();
+                                }
+                            }
+                        } finally {
+                            refilling.set(false);
+                        }
+                    });
+            } catch (RuntimeException e) {
+                refilling.set(false);
+                throw e;
+            }
+        }
+    }
+}
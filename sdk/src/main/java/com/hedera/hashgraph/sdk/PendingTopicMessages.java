@@ -0,0 +1,115 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.Duration;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Puts chunked topic messages back together as their chunks arrive.
+ * <p>
+ * A message whose chunks don't all arrive, for instance because a chunk was never submitted, would otherwise be kept
+ * forever. A message is dropped once it has waited longer than {@link #timeout} for its remaining chunks, or when
+ * {@link #maxMessages} other messages are waiting and it has waited the longest. Not thread safe; a subscription only
+ * adds chunks from its stream callbacks, which never run at the same time.
+ */
+final class PendingTopicMessages {
+    private static final Logger logger = LoggerFactory.getLogger(PendingTopicMessages.class);
+
+    static final int DEFAULT_MAX_MESSAGES = 1000;
+    static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(5);
+
+    private final int maxMessages;
+    private final long timeout;
+
+    // in the order the first chunk of each message arrived, so the oldest are found first
+    private final LinkedHashMap<TransactionID, PendingMessage> pending = new LinkedHashMap<>();
+
+    PendingTopicMessages(int maxMessages, Duration timeout) {
+        this.maxMessages = maxMessages;
+        this.timeout = timeout.toMillis();
+    }
+
+    /**
+     * Add a response from the mirror node.
+     *
+     * @param response - a response holding a whole message or one chunk of one
+     * @return - the message, once every chunk of it has arrived, or {@code null}
+     */
+    @Nullable
+    TopicMessage add(ConsensusTopicResponse response) {
+        // Short circuit for no chunks or 1/1 chunks
+        if (!response.hasChunkInfo() || response.getChunkInfo().getTotal() == 1) {
+            return TopicMessage.ofSingle(response);
+        }
+
+        var now = System.currentTimeMillis();
+        evictExpired(now);
+
+        var initialTransactionId = response.getChunkInfo().getInitialTransactionID();
+        @Var var message = pending.get(initialTransactionId);
+
+        if (message == null) {
+            if (pending.size() >= maxMessages) {
+                evictOldest();
+            }
+
+            message = new PendingMessage(now);
+            pending.put(initialTransactionId, message);
+        }
+
+        message.chunks.add(response);
+
+        if (message.chunks.size() == response.getChunkInfo().getTotal()) {
+            pending.remove(initialTransactionId);
+            return TopicMessage.ofMany(message.chunks);
+        }
+
+        return null;
+    }
+
+    int size() {
+        return pending.size();
+    }
+
+    private void evictExpired(long now) {
+        for (Iterator<Map.Entry<TransactionID, PendingMessage>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            var entry = it.next();
+
+            if (now - entry.getValue().firstChunkAt < timeout) {
+                // the rest arrived later still
+                return;
+            }
+
+            logger.warn("Dropping topic message {} after waiting {} ms for its remaining chunks",
+                TransactionId.fromProtobuf(entry.getKey()), timeout);
+            it.remove();
+        }
+    }
+
+    private void evictOldest() {
+        var it = pending.entrySet().iterator();
+        var entry = it.next();
+
+        logger.warn("Dropping topic message {}, {} other messages are waiting for their remaining chunks",
+            TransactionId.fromProtobuf(entry.getKey()), maxMessages);
+        it.remove();
+    }
+
+    private static final class PendingMessage {
+        final long firstChunkAt;
+        final ArrayList<ConsensusTopicResponse> chunks = new ArrayList<>();
+
+        PendingMessage(long firstChunkAt) {
+            this.firstChunkAt = firstChunkAt;
+        }
+    }
+}
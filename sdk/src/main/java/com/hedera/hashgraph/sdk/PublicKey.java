@@ -56,10 +56,12 @@ public final class PublicKey extends Key {
             transaction.freeze();
         }
 
+        var keyBytes = ByteString.copyFrom(keyData);
+
         for (var signedTransaction : transaction.innerSignedTransactions) {
             @Var var found = false;
             for (var sigPair : signedTransaction.getSigMap().getSigPairList()) {
-                if (sigPair.getPubKeyPrefix().equals(ByteString.copyFrom(toBytes()))) {
+                if (sigPair.getPubKeyPrefix().equals(keyBytes)) {
                     found = true;
 
                     if (!verify(signedTransaction.getBodyBytes().toByteArray(), sigPair.getEd25519().toByteArray())) {
@@ -10,7 +10,9 @@ import com.hedera.hashgraph.sdk.proto.Transaction;
 import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import io.grpc.MethodDescriptor;
 import java8.util.concurrent.CompletableFuture;
+import java8.util.concurrent.CompletionException;
 import java8.util.function.Consumer;
+import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
 
 import javax.annotation.Nullable;
@@ -45,12 +47,34 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
     @Nullable
     private Hbar chosenQueryPayment = null;
 
+    // Set when the payment was taken from the client's query cost cache, so the cost can be dropped if it turns out
+    // to be too low
+    @Nullable
+    private String cachedCostKey = null;
+
+    // Set once a cached cost turned out too low for this query, so it asks for its real cost from then on
+    private boolean costCacheBypassed = false;
+
+    @Nullable
+    private PaymentTransactionPool paymentTransactionPool = null;
+
     Query() {
         builder = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
         headerBuilder = QueryHeader.newBuilder();
     }
 
-    private static Transaction makePaymentTransaction(
+    static Transaction makePaymentTransaction(
+        TransactionId paymentTransactionId,
+        AccountId nodeId,
+        Client.Operator operator,
+        Hbar paymentAmount
+    ) {
+        return makeUnsignedPaymentTransaction(paymentTransactionId, nodeId, operator, paymentAmount)
+            .signWithOperator(operator)
+            .makeRequest();
+    }
+
+    static TransferTransaction makeUnsignedPaymentTransaction(
         TransactionId paymentTransactionId,
         AccountId nodeId,
         Client.Operator operator,
@@ -62,9 +86,32 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
             .setMaxTransactionFee(new Hbar(1)) // 1 Hbar
             .addHbarTransfer(operator.accountId, paymentAmount.negated())
             .addHbarTransfer(nodeId, paymentAmount)
-            .freeze()
-            .signWith(operator.publicKey, operator.transactionSigner)
-            .makeRequest();
+            .freeze();
+    }
+
+    /**
+     * Make the payment transaction for every node up front, signing all of them with a single call to the operator's
+     * batch signer
+     *
+     * @param batchSigner - the operator's batch signer
+     * @return - a future which completes once every payment transaction is ready
+     */
+    private CompletableFuture<Void> makePaymentTransactionsAsync(BatchTransactionSigner batchSigner) {
+        var operator = Objects.requireNonNull(paymentOperator);
+        var paymentAmount = Objects.requireNonNull(chosenQueryPayment);
+        var transfers = new ArrayList<TransferTransaction>(nodeAccountIds.size());
+
+        for (var nodeId : nodeAccountIds) {
+            paymentTransactionId = TransactionId.generate(operator.accountId);
+            transfers.add(makeUnsignedPaymentTransaction(paymentTransactionId, nodeId, operator, paymentAmount));
+        }
+
+        return com.hedera.hashgraph.sdk.Transaction.signAllWithBatch(transfers, operator.publicKey, batchSigner)
+            .thenRun(() -> {
+                for (int i = 0; i < transfers.size(); i++) {
+                    Objects.requireNonNull(paymentTransactions).set(i, transfers.get(i).makeRequest());
+                }
+            });
     }
 
     /**
@@ -125,6 +172,78 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
         return true;
     }
 
+    /**
+     * The key the cost of this query is cached under with {@link QueryPaymentPolicy#CACHE_COST}, or {@code null} not to
+     * cache it.
+     * <p>
+     * Queries which cost the same share a key. The key is the type of the query; a derived class whose cost depends
+     * on the entity it asks about, or its other parameters, adds them to the key. A query whose cost changes too
+     * often to reuse, or which is rarely repeated, isn't cached.
+     */
+    @Nullable
+    String getCostCacheKey() {
+        return getClass().getName();
+    }
+
+    @Override
+    public O execute(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
+        var startAt = System.nanoTime();
+
+        try {
+            return super.execute(client, timeout);
+        } catch (PrecheckStatusException e) {
+            if (!dropCachedCostIfTooLow(client, e)) {
+                throw e;
+            }
+        }
+
+        // the cached cost was too low, so pay the real cost this time, within the time left
+        return super.execute(client, timeout.minusNanos(System.nanoTime() - startAt));
+    }
+
+    @Override
+    public CompletableFuture<O> executeAsync(Client client) {
+        var cancellation = new Cancellation();
+
+        CompletableFuture<O> future = cancellation.track(super.executeAsync(client))
+            .handle((response, error) -> {
+                var cause = error instanceof CompletionException ? error.getCause() : error;
+
+                if (cause instanceof PrecheckStatusException && dropCachedCostIfTooLow(client, (PrecheckStatusException) cause)) {
+                    // the cached cost was too low, so pay the real cost this time
+                    return cancellation.track(super.executeAsync(client));
+                }
+
+                return error != null ? CompletableFuture.<O>failedFuture(error) : CompletableFuture.completedFuture(response);
+            })
+            .thenCompose(next -> next);
+
+        return cancellation.cancelledBy(future);
+    }
+
+    /**
+     * When this query was paid with a cached cost which turned out too low, drop the cost from the cache and get ready
+     * to ask for the real cost and make new payments.
+     *
+     * @return whether the query should be sent again
+     */
+    private boolean dropCachedCostIfTooLow(Client client, PrecheckStatusException error) {
+        var key = cachedCostKey;
+
+        if (key == null || error.status != Status.INSUFFICIENT_TX_FEE) {
+            return false;
+        }
+
+        client.queryCostCache.invalidate(key);
+
+        cachedCostKey = null;
+        costCacheBypassed = true;
+        chosenQueryPayment = null;
+        paymentTransactions = null;
+
+        return true;
+    }
+
     /**
      * Called in {@link #makeRequest} just before the query is built. The intent is for the derived
      * class to assign their data variant to the query.
@@ -182,11 +301,14 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
             return CompletableFuture.completedFuture(null);
         }
 
-        return CompletableFuture.supplyAsync(() -> {
+        // cancelling this query cancels the cost query it is waiting on
+        var cancellation = new Cancellation();
+
+        CompletableFuture<Void> future = CompletableFuture.supplyAsync(() -> {
                 if (grpcCostQuery.getCost() == null) {
                     // No payment was specified so we need to go ask
                     // This is a query in its own right so we use a nested future here
-                    return getCostAsync(client).thenCompose(cost -> {
+                    return cancellation.track(getCostAsync(client)).thenCompose(cost -> {
                         grpcCostQuery.setCost(cost);
 
                         if (grpcCostQuery.shouldError()) {
@@ -200,9 +322,19 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
                 return CompletableFuture.completedFuture(null);
             }, client.executor)
             .thenCompose(x -> x)
-            .thenAccept((paymentAmount) -> {
+            .thenCompose((paymentAmount) -> {
                 grpcCostQuery.finish();
+
+                // with a payment pool the payments are signed ahead of time already
+                var batchSigner = grpcCostQuery.getOperator().batchSigner;
+                if (batchSigner != null && paymentTransactionPool == null) {
+                    return makePaymentTransactionsAsync(batchSigner);
+                }
+
+                return CompletableFuture.completedFuture(null);
             });
+
+        return cancellation.cancelledBy(future);
     }
 
     private void initWithNodeIds(Client client) {
@@ -228,6 +360,15 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
         var paymentTx = Objects.requireNonNull(paymentTransactions).get(index);
         if (paymentTx != null) {
             return paymentTx;
+        } else if (paymentTransactionPool != null) {
+            var payment = paymentTransactionPool.take(
+                nodeAccountIds.get(index),
+                Objects.requireNonNull(paymentOperator),
+                Objects.requireNonNull(chosenQueryPayment)
+            );
+            paymentTransactionId = payment.transactionId;
+            paymentTransactions.set(index, payment.transaction);
+            return payment.transaction;
         } else {
             paymentTransactionId = TransactionId.generate(Objects.requireNonNull(paymentOperator).accountId);
             var newPaymentTx = makePaymentTransaction(
@@ -295,6 +436,10 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
     private class GrpcCostQuery {
         private final Hbar maxCost;
         private final boolean notRequired;
+        @Nullable
+        private final QueryCostCache costCache;
+        @Nullable
+        private final PaymentTransactionPool paymentTransactionPool;
 
         private Client.Operator operator;
         private Hbar cost;
@@ -306,8 +451,21 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
             notRequired = (Query.this.paymentTransactions != null) || !Query.this.isPaymentRequired();
             maxCost = MoreObjects.firstNonNull(Query.this.maxQueryPayment, client.defaultMaxQueryPayment);
 
+            paymentTransactionPool = client.getPaymentTransactionPool();
+
+            var policy = client.getQueryPaymentPolicy();
+            costCache = policy == QueryPaymentPolicy.CACHE_COST ? client.queryCostCache : null;
+
             if (!notRequired) {
                 operator = Query.this.getOperatorFromClient(client);
+
+                if (cost == null && policy == QueryPaymentPolicy.PAY_MAX) {
+                    cost = maxCost;
+                } else if (cost == null && costCache != null && !Query.this.costCacheBypassed) {
+                    var cacheKey = Query.this.getCostCacheKey();
+                    cost = cacheKey != null ? costCache.get(cacheKey) : null;
+                    Query.this.cachedCostKey = cost != null ? cacheKey : null;
+                }
             }
         }
 
@@ -325,6 +483,13 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
 
         GrpcCostQuery setCost(Hbar cost) {
             this.cost = cost;
+
+            var cacheKey = Query.this.getCostCacheKey();
+
+            if (costCache != null && cacheKey != null) {
+                costCache.put(cacheKey, cost);
+            }
+
             return this;
         }
 
@@ -340,6 +505,7 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
         void finish() {
             Query.this.chosenQueryPayment = cost;
             Query.this.paymentOperator = operator;
+            Query.this.paymentTransactionPool = paymentTransactionPool;
             Query.this.paymentTransactions = new ArrayList<>(Query.this.nodeAccountIds.size());
 
             for (int i = 0; i < Query.this.nodeAccountIds.size(); i++) {
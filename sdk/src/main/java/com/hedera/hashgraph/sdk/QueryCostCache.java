@@ -0,0 +1,85 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The costs of queries the client has asked for, kept for {@link QueryPaymentPolicy#CACHE_COST}.
+ * <p>
+ * Fees are set by the fee schedule and converted with the current exchange rate, which expires at the top of every
+ * hour. A cost is only reused until then.
+ */
+final class QueryCostCache {
+    private static final long HOUR_MILLIS = 60 * 60 * 1000;
+
+    // most costs are keyed by query shape, but a query keyed by entity ID, such as a file, could grow this without bound
+    private static final int MAX_ENTRIES = 1024;
+
+    private final ConcurrentHashMap<String, Entry> costs = new ConcurrentHashMap<>();
+
+    @Nullable
+    Hbar get(String key) {
+        var entry = costs.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (System.currentTimeMillis() >= entry.expiresAt) {
+            costs.remove(key, entry);
+            return null;
+        }
+
+        return entry.cost;
+    }
+
+    void put(String key, Hbar cost) {
+        var now = System.currentTimeMillis();
+
+        if (costs.size() >= MAX_ENTRIES && !costs.containsKey(key)) {
+            evict(now);
+        }
+
+        costs.put(key, new Entry(cost, (now / HOUR_MILLIS + 1) * HOUR_MILLIS));
+    }
+
+    /**
+     * Make room for one more cost by dropping the costs which expired, or one cost if none did, rather than every cost
+     * the cache holds
+     */
+    private void evict(long now) {
+        @Var var evicted = false;
+
+        for (var iterator = costs.values().iterator(); iterator.hasNext(); ) {
+            if (now >= iterator.next().expiresAt) {
+                iterator.remove();
+                evicted = true;
+            }
+        }
+
+        if (!evicted) {
+            var iterator = costs.keySet().iterator();
+
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    void invalidate(String key) {
+        costs.remove(key);
+    }
+
+    private static final class Entry {
+        final Hbar cost;
+        final long expiresAt;
+
+        Entry(Hbar cost, long expiresAt) {
+            this.cost = cost;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hedera.hashgraph.sdk;
+
+/**
+ * How the client decides what to pay for a query which has no explicit {@link Query#setQueryPayment(Hbar)}.
+ */
+public enum QueryPaymentPolicy {
+    /**
+     * Ask the node for the cost of every query before sending it. This is exact but doubles the round trips.
+     */
+    ASK_FOR_COST,
+
+    /**
+     * Ask the node for the cost of a query the first time and reuse it for queries of the same type, about the same
+     * entity and of the same shape, until the fee schedule and exchange rate could change, at the top of the next hour.
+     * Queries whose cost changes too often to reuse, such as for the records of an account, always ask. A query which
+     * is refused because the cached cost is too low drops it, and asks for the real cost.
+     */
+    CACHE_COST,
+
+    /**
+     * Never ask for the cost and pay the maximum query payment instead. Hedera does not return any remainder, so this
+     * trades fees for latency.
+     */
+    PAY_MAX
+}
@@ -0,0 +1,296 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import java8.util.concurrent.CompletableFuture;
+import java8.util.concurrent.CompletionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.threeten.bp.Duration;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Waits for the receipts of many transactions on one shared schedule, instead of a separate retry loop per waiter.
+ * <p>
+ * Every transaction ID is polled by a single query at a time no matter how many callers wait on it. The first poll is
+ * sent once the transaction has had time to reach consensus, and later polls follow at a short fixed interval. At most
+ * {@link #maxConcurrentPolls} receipt queries are in flight at once; the rest wait their turn rather than pile onto
+ * the nodes. A single timer is armed for whichever receipt is due next, so nothing runs while no poll is due.
+ */
+final class ReceiptTracker {
+    private static final Logger logger = LoggerFactory.getLogger(ReceiptTracker.class);
+
+    // consensus is usually reached 3 to 5 seconds after a transaction is submitted
+    static final Duration DEFAULT_INITIAL_DELAY = Duration.ofSeconds(3);
+    static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(500);
+    static final int DEFAULT_MAX_CONCURRENT_POLLS = 64;
+
+    private static final int MAX_BACKOFF_SHIFT = 4;
+
+    private final Client client;
+    private final long initialDelay;
+    private final long pollInterval;
+    private final int maxConcurrentPolls;
+
+    private final ConcurrentHashMap<TransactionId, PendingReceipt> pending = new ConcurrentHashMap<>();
+    private final PriorityBlockingQueue<PendingReceipt> queue = new PriorityBlockingQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // the timer for the next tick, and when it fires; guarded by this
+    @Nullable
+    private CompletableFuture<Void> timer = null;
+    private long timerAt = 0;
+
+    ReceiptTracker(Client client) {
+        this(client, DEFAULT_INITIAL_DELAY, DEFAULT_POLL_INTERVAL, DEFAULT_MAX_CONCURRENT_POLLS);
+    }
+
+    ReceiptTracker(Client client, Duration initialDelay, Duration pollInterval, int maxConcurrentPolls) {
+        this.client = client;
+        this.initialDelay = initialDelay.toMillis();
+        this.pollInterval = pollInterval.toMillis();
+        this.maxConcurrentPolls = maxConcurrentPolls;
+    }
+
+    /**
+     * Wait for the receipt of a transaction. Callers waiting on the same transaction share a single poll.
+     *
+     * @param transactionId - the ID of the transaction
+     * @param nodeId - the node the transaction was submitted to
+     * @return - a future of the receipt, which fails with a {@link TimeoutException} once the client's request timeout
+     * has passed without the transaction reaching consensus
+     */
+    CompletableFuture<TransactionReceipt> track(TransactionId transactionId, AccountId nodeId) {
+        // copied so a caller cancelling its future does not cancel it for the others
+        return register(transactionId, nodeId).future.copy();
+    }
+
+    private PendingReceipt register(TransactionId transactionId, AccountId nodeId) {
+        var now = System.currentTimeMillis();
+        var receipt = new PendingReceipt(
+            transactionId,
+            nodeId,
+            now + initialDelay,
+            now + client.getRequestTimeout().toMillis()
+        );
+
+        var existing = pending.putIfAbsent(transactionId, receipt);
+        if (existing != null) {
+            return existing;
+        }
+
+        queue.add(receipt);
+        scheduleTick();
+
+        return receipt;
+    }
+
+    /**
+     * Block until the receipt of a transaction is available, or its deadline has passed.
+     *
+     * @see #track(TransactionId, AccountId)
+     */
+    TransactionReceipt await(TransactionId transactionId, AccountId nodeId) throws TimeoutException, PrecheckStatusException {
+        var receipt = register(transactionId, nodeId);
+        var remaining = Math.max(0, receipt.deadline - System.currentTimeMillis());
+
+        try {
+            return receipt.future.copy().get(remaining, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new TimeoutException("timed out waiting for the receipt of transaction " + transactionId);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+
+            if (cause instanceof TimeoutException) {
+                throw (TimeoutException) cause;
+            } else if (cause instanceof PrecheckStatusException) {
+                throw (PrecheckStatusException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * The number of transactions whose receipt is being waited for
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Arm the timer for the receipt due next, unless a tick is already armed for no later than that or every poll slot
+     * is taken; a poll finishing arms it again.
+     */
+    private synchronized void scheduleTick() {
+        var head = queue.peek();
+
+        if (head == null || inFlight.get() >= maxConcurrentPolls) {
+            return;
+        }
+
+        var at = head.nextPollAt;
+        var current = timer;
+
+        if (current != null) {
+            if (timerAt <= at) {
+                return;
+            }
+
+            current.cancel(false);
+        }
+
+        var delay = Delayer.delayFor(Math.max(0, at - System.currentTimeMillis()), client.executor);
+
+        timer = delay;
+        timerAt = at;
+
+        delay.whenComplete((ignored, error) -> {
+            synchronized (this) {
+                if (timer == delay) {
+                    timer = null;
+                }
+            }
+
+            if (delay.isCancelled()) {
+                // replaced by a timer for an earlier receipt
+                return;
+            }
+
+            if (error != null) {
+                // the executor of the client rejected the tick, so nothing is left to poll the receipts
+                logger.warn("Could not poll for transaction receipts", error);
+                failQueued(error);
+                return;
+            }
+
+            tick();
+        });
+    }
+
+    private synchronized void tick() {
+        var now = System.currentTimeMillis();
+
+        while (inFlight.get() < maxConcurrentPolls) {
+            var receipt = queue.poll();
+            if (receipt == null) {
+                break;
+            }
+
+            if (receipt.nextPollAt > now) {
+                queue.add(receipt);
+                break;
+            }
+
+            poll(receipt, now);
+        }
+
+        scheduleTick();
+    }
+
+    private void failQueued(Throwable error) {
+        @Var var receipt = queue.poll();
+
+        while (receipt != null) {
+            complete(receipt, null, error);
+            receipt = queue.poll();
+        }
+    }
+
+    private void poll(PendingReceipt receipt, long now) {
+        if (now >= receipt.deadline) {
+            complete(receipt, null, new TimeoutException(
+                "timed out waiting for the receipt of transaction " + receipt.transactionId));
+            return;
+        }
+
+        inFlight.incrementAndGet();
+
+        var query = new TransactionReceiptQuery()
+            .setTransactionId(receipt.transactionId)
+            .setNodeAccountIds(Collections.singletonList(receipt.nodeId))
+            .setMaxAttempts(1);
+
+        // an answer meaning "not yet" finishes the query so the next try waits for this schedule
+        query.pollOnce = true;
+
+        query.executeAsync(client).whenComplete((result, error) -> {
+            inFlight.decrementAndGet();
+            onPolled(receipt, result, error);
+
+            // the slot this poll held is free, and the receipt may be back in the queue
+            scheduleTick();
+        });
+    }
+
+    private void onPolled(PendingReceipt receipt, @Nullable TransactionReceipt result, @Nullable Throwable error) {
+        var now = System.currentTimeMillis();
+        var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        if (cause instanceof MaxAttemptsExceededException) {
+            // the node was busy or could not be reached; try this transaction less often for a while
+            receipt.failedPolls++;
+            receipt.nextPollAt = Math.min(
+                now + (pollInterval << Math.min(receipt.failedPolls, MAX_BACKOFF_SHIFT)),
+                receipt.deadline
+            );
+            queue.add(receipt);
+
+            logger.trace("Polling the receipt of {} failed, trying again in {} ms",
+                receipt.transactionId, receipt.nextPollAt - now);
+        } else if (cause != null) {
+            complete(receipt, null, cause);
+        } else if (TransactionReceiptQuery.isReceiptPending(Objects.requireNonNull(result).status)) {
+            receipt.failedPolls = 0;
+            receipt.nextPollAt = Math.min(now + pollInterval, receipt.deadline);
+            queue.add(receipt);
+        } else {
+            complete(receipt, result, null);
+        }
+    }
+
+    private void complete(PendingReceipt receipt, @Nullable TransactionReceipt result, @Nullable Throwable error) {
+        pending.remove(receipt.transactionId, receipt);
+
+        if (error != null) {
+            receipt.future.completeExceptionally(error);
+        } else {
+            receipt.future.complete(result);
+        }
+    }
+
+    private static final class PendingReceipt implements Comparable<PendingReceipt> {
+        final TransactionId transactionId;
+        final AccountId nodeId;
+        final long deadline;
+        final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+
+        // only changed while the receipt is out of the queue, by the one poll that took it
+        long nextPollAt;
+        int failedPolls = 0;
+
+        PendingReceipt(TransactionId transactionId, AccountId nodeId, long nextPollAt, long deadline) {
+            this.transactionId = transactionId;
+            this.nodeId = nodeId;
+            this.nextPollAt = nextPollAt;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int compareTo(PendingReceipt other) {
+            return Long.compare(nextPollAt, other.nextPollAt);
+        }
+    }
+}
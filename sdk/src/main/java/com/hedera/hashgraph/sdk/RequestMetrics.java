@@ -0,0 +1,155 @@
+package com.hedera.hashgraph.sdk;
+
+import java8.util.function.Supplier;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link MetricsListener} which keeps the metrics of a client in memory: a {@link LatencyHistogram} of attempts per
+ * node and per gRPC method, and counts of precheck statuses, retries, backoff time and requests which ran out of
+ * attempts. Once a node, method or status has been seen, recording it doesn't allocate.
+ */
+public final class RequestMetrics implements MetricsListener {
+    private final ConcurrentHashMap<AccountId, LatencyHistogram> nodeLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> methodLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Status, AtomicLong> precheckStatuses = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<AccountId, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong backoffMillis = new AtomicLong();
+    private final AtomicLong maxAttemptsExceeded = new AtomicLong();
+
+    @Override
+    public void onAttempt(
+        AccountId nodeAccountId,
+        String method,
+        int attempt,
+        long latencyNanos,
+        @Nullable Status status,
+        @Nullable String retryReason
+    ) {
+        getOrCreate(nodeLatencies, nodeAccountId, LatencyHistogram::new).record(latencyNanos);
+        getOrCreate(methodLatencies, method, LatencyHistogram::new).record(latencyNanos);
+
+        if (status != null) {
+            getOrCreate(precheckStatuses, status, AtomicLong::new).incrementAndGet();
+        }
+
+        if (retryReason != null) {
+            retries.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onChannelConnect(AccountId nodeAccountId, long waitNanos, boolean connected) {
+        // the attempt fails, and is retried
+        if (!connected) {
+            retries.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onBackoff(AccountId nodeAccountId, String method, long delayMillis) {
+        backoffMillis.addAndGet(delayMillis);
+    }
+
+    @Override
+    public void onMaxAttemptsExceeded(String method, int maxAttempts) {
+        maxAttemptsExceeded.incrementAndGet();
+    }
+
+    @Override
+    public void onInFlight(AccountId nodeAccountId, int inFlight) {
+        getOrCreate(this.inFlight, nodeAccountId, AtomicInteger::new).set(inFlight);
+    }
+
+    /**
+     * @param nodeAccountId The node
+     * @return The latencies of the attempts sent to the node, or {@code null} if none was
+     */
+    @Nullable
+    public LatencyHistogram getNodeLatency(AccountId nodeAccountId) {
+        return nodeLatencies.get(nodeAccountId);
+    }
+
+    /**
+     * @param method The gRPC method, such as {@code proto.CryptoService/cryptoTransfer}
+     * @return The latencies of the attempts of requests to the method, or {@code null} if none was sent
+     */
+    @Nullable
+    public LatencyHistogram getMethodLatency(String method) {
+        return methodLatencies.get(method);
+    }
+
+    /**
+     * @return The latencies of the attempts sent to each node
+     */
+    public Map<AccountId, LatencyHistogram> getNodeLatencies() {
+        return Collections.unmodifiableMap(new HashMap<>(nodeLatencies));
+    }
+
+    /**
+     * @return The latencies of the attempts of requests to each gRPC method
+     */
+    public Map<String, LatencyHistogram> getMethodLatencies() {
+        return Collections.unmodifiableMap(new HashMap<>(methodLatencies));
+    }
+
+    /**
+     * @param status The precheck status
+     * @return The number of responses with the status
+     */
+    public long getPrecheckStatusCount(Status status) {
+        var count = precheckStatuses.get(status);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * @return The number of attempts which were retried
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * @return The total time requests waited between attempts in milliseconds
+     */
+    public long getBackoffMillis() {
+        return backoffMillis.get();
+    }
+
+    /**
+     * @return The number of requests which failed with a {@link MaxAttemptsExceededException}
+     */
+    public long getMaxAttemptsExceeded() {
+        return maxAttemptsExceeded.get();
+    }
+
+    /**
+     * @param nodeAccountId The node
+     * @return The number of calls in flight to the node
+     */
+    public int getInFlight(AccountId nodeAccountId) {
+        var gauge = inFlight.get(nodeAccountId);
+        return gauge != null ? gauge.get() : 0;
+    }
+
+    // the factories are method references which capture nothing, so looking up an existing value doesn't allocate
+    private static <K, V> V getOrCreate(ConcurrentHashMap<K, V> values, K key, Supplier<V> factory) {
+        var value = values.get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        var created = factory.get();
+        var existing = values.putIfAbsent(key, created);
+
+        return existing != null ? existing : created;
+    }
+}
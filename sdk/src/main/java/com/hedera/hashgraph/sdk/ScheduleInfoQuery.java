@@ -30,6 +30,12 @@ public class ScheduleInfoQuery extends com.hedera.hashgraph.sdk.Query<ScheduleIn
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the schedule, such as the size of its transaction
+        return super.getCostCacheKey() + "/" + scheduleId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (scheduleId != null) {
@@ -1,11 +1,17 @@
 package com.hedera.hashgraph.sdk;
 
+import org.threeten.bp.Duration;
+import org.threeten.bp.Instant;
+
 import javax.annotation.Nullable;
 
 public final class SubscriptionHandle {
     @Nullable
     private Runnable onUnsubscribe;
 
+    @Nullable
+    private volatile Instant lastConsensusTimestamp = null;
+
     SubscriptionHandle() {
     }
 
@@ -13,6 +19,34 @@ public final class SubscriptionHandle {
         this.onUnsubscribe = onUnsubscribe;
     }
 
+    void setLastConsensusTimestamp(Instant lastConsensusTimestamp) {
+        this.lastConsensusTimestamp = lastConsensusTimestamp;
+    }
+
+    /**
+     * The consensus timestamp of the last message the subscription received. A subscription which has to reconnect
+     * resumes from the message after it.
+     *
+     * @return The consensus timestamp, or {@code null} if no message was received yet
+     */
+    @Nullable
+    public Instant getLastConsensusTimestamp() {
+        return lastConsensusTimestamp;
+    }
+
+    /**
+     * How far the subscription is behind the network: the time since the consensus timestamp of the last message it
+     * received. A topic with few messages shows a growing lag between them without the subscription falling behind.
+     *
+     * @return The lag, or {@code null} if no message was received yet
+     */
+    @Nullable
+    public Duration getLag() {
+        var last = lastConsensusTimestamp;
+
+        return last != null ? Duration.between(last, Instant.now()) : null;
+    }
+
     public void unsubscribe() {
         if (this.onUnsubscribe != null) {
             this.onUnsubscribe.run();
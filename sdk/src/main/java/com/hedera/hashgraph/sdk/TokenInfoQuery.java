@@ -36,6 +36,12 @@ public class TokenInfoQuery extends com.hedera.hashgraph.sdk.Query<TokenInfo, To
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the token, such as its keys and custom fees
+        return super.getCostCacheKey() + "/" + tokenId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (tokenId != null) {
@@ -133,6 +133,12 @@ public class TokenNftInfoQuery extends com.hedera.hashgraph.sdk.Query<List<Token
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the NFTs asked for, and how many of them
+        return super.getCostCacheKey() + "/" + nftId + "/" + tokenId + "/" + accountId + "/" + start + "/" + end;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (nftId != null) {
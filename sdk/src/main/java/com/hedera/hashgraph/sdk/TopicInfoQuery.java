@@ -39,6 +39,12 @@ public final class TopicInfoQuery extends Query<TopicInfo, TopicInfoQuery> {
         return this;
     }
 
+    @Override
+    String getCostCacheKey() {
+        // the cost depends on the topic, such as its keys and memo
+        return super.getCostCacheKey() + "/" + topicId;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (topicId != null) {
@@ -0,0 +1,182 @@
+package com.hedera.hashgraph.sdk;
+
+import java8.util.function.BiConsumer;
+import java8.util.function.Consumer;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A bounded ring of topic messages between the stream a subscription reads from and the consumer of its messages.
+ * <p>
+ * The stream only puts messages into the ring, and the consumer is called on its own executor, one message at a time
+ * and in order. A consumer which falls behind fills the ring, and then {@link #strategy} decides what happens to the
+ * next message instead of messages piling up on the heap.
+ * <p>
+ * With {@link BackpressureStrategy#BLOCK} nothing waits on a full ring. The stream asks for its next message through
+ * {@link #requestWhenRoom(Runnable)}, which holds the request back until the consumer has taken a message from the
+ * ring, so the thread reading the stream is never parked and the ring never overflows.
+ */
+final class TopicMessageBuffer {
+    private final ArrayBlockingQueue<TopicMessage> ring;
+    private final BackpressureStrategy strategy;
+    private final Executor executor;
+    private final Consumer<TopicMessage> onNext;
+    private final BiConsumer<Throwable, TopicMessage> errorHandler;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    // the request for the next message of the stream, held back while the ring is full
+    private final AtomicReference<Runnable> heldRequest = new AtomicReference<>();
+    private volatile boolean closed = false;
+    @Nullable
+    private volatile Runnable completionHandler = null;
+
+    TopicMessageBuffer(
+        int size,
+        BackpressureStrategy strategy,
+        Executor executor,
+        Consumer<TopicMessage> onNext,
+        BiConsumer<Throwable, TopicMessage> errorHandler
+    ) {
+        this.ring = new ArrayBlockingQueue<>(size);
+        this.strategy = strategy;
+        this.executor = executor;
+        this.onNext = onNext;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Hand a message to the consumer.
+     *
+     * @param message - the message
+     * @return - {@code false} if the ring is full and the strategy is {@link BackpressureStrategy#ERROR}, or the stream
+     * sent a message it wasn't asked for, in which case the subscription should end
+     */
+    boolean add(TopicMessage message) {
+        if (closed) {
+            return true;
+        }
+
+        if (!ring.offer(message)) {
+            switch (strategy) {
+                case ERROR:
+                    return false;
+
+                case DROP_OLDEST:
+                    // the consumer may take the oldest first, in which case there is room already
+                    while (!ring.offer(message)) {
+                        ring.poll();
+                    }
+                    break;
+
+                case BLOCK:
+                default:
+                    // the stream only asks for a message once there is room for it, so this is a stream which sent
+                    // a message it wasn't asked for
+                    return false;
+            }
+        }
+
+        scheduleDrain();
+
+        return true;
+    }
+
+    /**
+     * Ask the stream for its next message. With {@link BackpressureStrategy#BLOCK} and a full ring, the request is held
+     * back and made by the drain once it has taken a message from the ring; otherwise it is made right away.
+     *
+     * @param request - asks the stream for one more message
+     */
+    void requestWhenRoom(Runnable request) {
+        if (strategy != BackpressureStrategy.BLOCK || ring.remainingCapacity() > 0) {
+            request.run();
+            return;
+        }
+
+        heldRequest.set(request);
+
+        // the drain may have made room after the check above, but before it could see the held request
+        if (ring.remainingCapacity() > 0) {
+            releaseHeldRequest();
+        }
+    }
+
+    private void releaseHeldRequest() {
+        var request = heldRequest.getAndSet(null);
+
+        if (request != null && !closed) {
+            request.run();
+        }
+    }
+
+    /**
+     * Call the completion handler once the consumer has been handed every message already in the ring.
+     *
+     * @param completionHandler - the completion handler of the subscription
+     */
+    void complete(Runnable completionHandler) {
+        this.completionHandler = completionHandler;
+        scheduleDrain();
+    }
+
+    /**
+     * Stop handing messages to the consumer, and drop the ones which haven't been handed out yet
+     */
+    void close() {
+        closed = true;
+        ring.clear();
+        heldRequest.set(null);
+    }
+
+    int size() {
+        return ring.size();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                var message = ring.poll();
+                if (message == null) {
+                    break;
+                }
+
+                // fetch the next message while the consumer works on this one
+                releaseHeldRequest();
+
+                try {
+                    onNext.accept(message);
+                } catch (Throwable t) {
+                    errorHandler.accept(t, message);
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+
+        if (closed) {
+            return;
+        }
+
+        // a message added after the last poll but before draining was cleared saw a drain still running
+        if (!ring.isEmpty()) {
+            scheduleDrain();
+            return;
+        }
+
+        var handler = completionHandler;
+        if (handler != null && completed.compareAndSet(false, true)) {
+            handler.run();
+        }
+    }
+}
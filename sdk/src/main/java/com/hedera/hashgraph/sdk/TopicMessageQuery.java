@@ -2,27 +2,29 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.errorprone.annotations.Var;
 import com.hedera.hashgraph.sdk.proto.Timestamp;
-import com.hedera.hashgraph.sdk.proto.TransactionID;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
 import io.grpc.CallOptions;
 import io.grpc.ClientCall;
+import io.grpc.Metadata;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
-import io.grpc.stub.ClientCalls;
-import io.grpc.stub.StreamObserver;
 import java8.util.function.BiConsumer;
 import java8.util.function.Consumer;
 import java8.util.function.Predicate;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import javax.annotation.Nullable;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -36,6 +38,12 @@ public final class TopicMessageQuery {
     private int maxAttempts = 10;
     private Duration maxBackoff = Duration.ofSeconds(8L);
     private Predicate<Throwable> retryHandler = this::shouldRetry;
+    private int bufferSize = 0;
+    private BackpressureStrategy backpressureStrategy = BackpressureStrategy.BLOCK;
+    @Nullable
+    private Executor executor = null;
+    private int maxPendingChunkedMessages = PendingTopicMessages.DEFAULT_MAX_MESSAGES;
+    private Duration pendingChunkedMessageTimeout = PendingTopicMessages.DEFAULT_TIMEOUT;
 
     public TopicMessageQuery() {
         builder = ConsensusTopicQuery.newBuilder();
@@ -98,6 +106,78 @@ public final class TopicMessageQuery {
         return this;
     }
 
+    /**
+     * Hand messages to the consumer through a ring buffer of this size, on the executor from
+     * {@link #setExecutor(Executor)}, instead of calling it on the thread reading the stream.
+     * <p>
+     * The consumer is still called one message at a time and in order. When it falls behind and the buffer fills up,
+     * the strategy from {@link #setBackpressureStrategy(BackpressureStrategy)} decides what happens to the next message.
+     * 0, the default, calls the consumer on the thread reading the stream.
+     *
+     * @param bufferSize The number of messages to buffer, or 0 not to buffer
+     * @return {@code this}
+     */
+    public TopicMessageQuery setBufferSize(int bufferSize) {
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException("bufferSize must be non-negative");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * What to do with a new message when the buffer from {@link #setBufferSize(int)} is full.
+     * Defaults to {@link BackpressureStrategy#BLOCK}.
+     *
+     * @param backpressureStrategy The strategy
+     * @return {@code this}
+     */
+    public TopicMessageQuery setBackpressureStrategy(BackpressureStrategy backpressureStrategy) {
+        Objects.requireNonNull(backpressureStrategy, "backpressureStrategy must not be null");
+        this.backpressureStrategy = backpressureStrategy;
+        return this;
+    }
+
+    /**
+     * The executor to call the consumer on when messages are buffered. Defaults to the executor of the client.
+     *
+     * @param executor The executor
+     * @return {@code this}
+     */
+    public TopicMessageQuery setExecutor(Executor executor) {
+        Objects.requireNonNull(executor, "executor must not be null");
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * The most chunked messages to wait for the remaining chunks of at once. When another one starts, the message
+     * which has waited the longest is dropped. Defaults to 1000.
+     *
+     * @param maxPendingChunkedMessages The number of messages
+     * @return {@code this}
+     */
+    public TopicMessageQuery setMaxPendingChunkedMessages(int maxPendingChunkedMessages) {
+        if (maxPendingChunkedMessages <= 0) {
+            throw new IllegalArgumentException("maxPendingChunkedMessages must be positive");
+        }
+        this.maxPendingChunkedMessages = maxPendingChunkedMessages;
+        return this;
+    }
+
+    /**
+     * How long to wait for the remaining chunks of a chunked message after its first chunk arrived, before dropping
+     * it. Defaults to 5 minutes.
+     *
+     * @param pendingChunkedMessageTimeout The time to wait
+     * @return {@code this}
+     */
+    public TopicMessageQuery setPendingChunkedMessageTimeout(Duration pendingChunkedMessageTimeout) {
+        Objects.requireNonNull(pendingChunkedMessageTimeout, "pendingChunkedMessageTimeout must not be null");
+        this.pendingChunkedMessageTimeout = pendingChunkedMessageTimeout;
+        return this;
+    }
+
     private void onComplete() {
         var topicId = TopicId.fromProtobuf(builder.getTopicID());
         LOGGER.info("Subscription to topic {} complete", topicId);
@@ -142,11 +222,43 @@ public final class TopicMessageQuery {
 
     // TODO: Refactor into a base class when we add more mirror query types
     public SubscriptionHandle subscribe(Client client, Consumer<TopicMessage> onNext) {
+        return subscribe(client, null, onNext);
+    }
+
+    SubscriptionHandle subscribe(
+        Client client,
+        @Nullable TopicSubscriptionManager manager,
+        Consumer<TopicMessage> onNext
+    ) {
         SubscriptionHandle subscriptionHandle = new SubscriptionHandle();
-        HashMap<TransactionID, ArrayList<ConsensusTopicResponse>> pendingMessages = new HashMap<>();
+        var buffer = bufferSize > 0 ?
+            new TopicMessageBuffer(
+                bufferSize,
+                backpressureStrategy,
+                executor != null ? executor : client.executor,
+                onNext,
+                errorHandler
+            ) :
+            null;
+
+        var sink = new ConsumerSink(subscriptionHandle, onNext, buffer, manager);
+        subscriptionHandle.setOnUnsubscribe(sink::unsubscribe);
+
+        if (manager != null) {
+            manager.add(subscriptionHandle);
+        }
 
         try {
-            makeStreamingCall(client, subscriptionHandle, onNext, 0, new AtomicLong(), new AtomicReference<>(), pendingMessages);
+            makeStreamingCall(
+                client,
+                manager,
+                sink,
+                null,
+                0,
+                new AtomicLong(),
+                new AtomicReference<>(),
+                newPendingMessages()
+            );
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
@@ -154,23 +266,62 @@ public final class TopicMessageQuery {
         return subscriptionHandle;
     }
 
+    /**
+     * The messages of this query as a Reactive Streams {@link Publisher}.
+     * <p>
+     * Every subscriber gets its own subscription to the mirror node, which is only asked for as many messages as the
+     * subscriber has requested, so a slow subscriber slows down the stream instead of messages piling up on the heap.
+     * The subscription ends with {@code onComplete} or {@code onError} in place of the completion and error handlers
+     * of this query, and its messages are not buffered; the buffer, backpressure strategy and executor of this query
+     * don't apply to it. Retries behave the same as with {@link #subscribe(Client, Consumer)}.
+     *
+     * @param client The client to subscribe with
+     * @return A publisher of the messages of this query
+     */
+    public Publisher<TopicMessage> toPublisher(Client client) {
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber must not be null");
+
+            var subscription = new PublisherSink(subscriber);
+            subscriber.onSubscribe(subscription);
+
+            try {
+                makeStreamingCall(
+                    client,
+                    null,
+                    subscription,
+                    null,
+                    0,
+                    new AtomicLong(),
+                    new AtomicReference<>(),
+                    newPendingMessages()
+                );
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
+    private PendingTopicMessages newPendingMessages() {
+        return new PendingTopicMessages(maxPendingChunkedMessages, pendingChunkedMessageTimeout);
+    }
+
     private void makeStreamingCall(
         Client client,
-        SubscriptionHandle subscriptionHandle,
-        Consumer<TopicMessage> onNext,
+        @Nullable TopicSubscriptionManager manager,
+        MessageSink sink,
+        @Nullable MirrorNode failedNode,
         int attempt,
         AtomicLong counter,
         AtomicReference<ConsensusTopicResponse> lastMessage,
-        HashMap<TransactionID, ArrayList<ConsensusTopicResponse>> pendingMessages
+        PendingTopicMessages pendingMessages
     ) throws InterruptedException {
         // TODO: check status of channel before using it?
+        var placement = manager != null ? manager.place(failedNode) : null;
+        var node = placement != null ? placement.node : client.mirrorNetwork.getNextMirrorNode(failedNode);
+        var channel = placement != null ? placement.channel : node.getChannel();
         ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call =
-            client.mirrorNetwork.getNextMirrorNode().getChannel()
-                .newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
-
-        subscriptionHandle.setOnUnsubscribe(() -> {
-            call.cancel("unsubscribe", null);
-        });
+            channel.newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
 
         @Var
         var newBuilder = builder;
@@ -188,82 +339,372 @@ public final class TopicMessageQuery {
             newBuilder.setConsensusStartTime(nextStartTime);
         }
 
-        ClientCalls.asyncServerStreamingCall(call, newBuilder.build(), new StreamObserver<>() {
+        // The call is flow controlled by hand; the mirror node is only sent as many messages as the sink asks for
+        call.start(new ClientCall.Listener<>() {
+            private boolean received = false;
+
             @Override
-            public void onNext(ConsensusTopicResponse consensusTopicResponse) {
+            public void onMessage(ConsensusTopicResponse consensusTopicResponse) {
+                received = true;
                 counter.incrementAndGet();
                 lastMessage.set(consensusTopicResponse);
 
-                // Short circuit for no chunks or 1/1 chunks
-                if (!consensusTopicResponse.hasChunkInfo() || consensusTopicResponse.getChunkInfo().getTotal() == 1) {
-                    var message = TopicMessage.ofSingle(consensusTopicResponse);
+                // null while waiting for the rest of the chunks
+                sink.onResponse(call, pendingMessages.add(consensusTopicResponse));
+            }
 
-                    try {
-                        onNext.accept(message);
-                    } catch (Throwable t) {
-                        errorHandler.accept(t, message);
-                    }
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+                if (placement != null) {
+                    placement.release();
+                }
 
+                if (status.isOk()) {
+                    sink.onComplete();
                     return;
                 }
 
-                // get the list of chunks for this pending message
-                var initialTransactionID = consensusTopicResponse.getChunkInfo().getInitialTransactionID();
+                var t = status.asRuntimeException(trailers);
+
+                // a managed subscription lives through many mirror node restarts, so a stream which got as far as
+                // receiving messages starts its attempts over
+                var failedAttempt = manager != null && received ? 0 : attempt;
 
-                // Can't use `HashMap.putIfAbsent()` since that method is not available on Android
-                if (!pendingMessages.containsKey(initialTransactionID)) {
-                    pendingMessages.put(initialTransactionID, new ArrayList<>());
+                if (failedAttempt >= maxAttempts || sink.isCancelled() || !retryHandler.test(t)) {
+                    sink.onError(t);
+                    return;
                 }
 
-                ArrayList<ConsensusTopicResponse> chunks = pendingMessages.get(initialTransactionID);
+                // Equal jitter: half the backoff plus up to as much again, so that the subscriptions which failed
+                // together don't all come back to the mirror network at the same moment
+                var backoff = Math.min(500 * (long) Math.pow(2, failedAttempt), maxBackoff.toMillis());
+                var delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+                var topicId = TopicId.fromProtobuf(builder.getTopicID());
+                LOGGER.warn("Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
+                    topicId, failedAttempt, delay, t.getMessage());
+                client.getMetrics().onTopicReconnect(
+                    topicId, node.getAddress().toString(), failedAttempt, delay, status.getCode().name());
+
+                Runnable reconnect = () -> {
+                    if (sink.isCancelled()) {
+                        return;
+                    }
+
+                    try {
+                        makeStreamingCall(
+                            client, manager, sink, node, failedAttempt + 1, counter, lastMessage, pendingMessages);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        sink.onError(e);
+                    }
+                };
+
+                // The wait is on the shared delay scheduler, so a mirror node going away doesn't park a thread of the
+                // client executor for every subscription to it
+                if (manager != null) {
+                    manager.reconnect(node, delay, reconnect);
+                } else {
+                    Delayer.delayFor(delay, client.executor).thenRun(reconnect);
+                }
+            }
+        }, new Metadata());
+
+        call.sendMessage(newBuilder.build());
+        call.halfClose();
+
+        sink.onStart(call);
+    }
+
+    /**
+     * Where the messages of a subscription go, and how many messages each call to the mirror node asks for.
+     * The stream only calls a sink from the callbacks of its calls, which never run at the same time.
+     */
+    private interface MessageSink {
+        /**
+         * A call to the mirror node started, either the first one of the subscription or a retry.
+         *
+         * @param call - the call, which hasn't asked for any messages yet
+         */
+        void onStart(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call);
+
+        /**
+         * A message, or a chunk of one, arrived on a call.
+         *
+         * @param call    - the call it arrived on
+         * @param message - the message, or {@code null} if the rest of its chunks haven't arrived yet
+         */
+        void onResponse(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call, @Nullable TopicMessage message);
+
+        void onComplete();
+
+        void onError(Throwable throwable);
+
+        /**
+         * @return - whether the subscription was ended by its consumer, in which case it is not retried
+         */
+        boolean isCancelled();
+    }
+
+    /**
+     * Hands messages to the consumer of {@link #subscribe(Client, Consumer)}, and asks for the next message once the
+     * consumer returns, or the buffer has room for it.
+     */
+    private final class ConsumerSink implements MessageSink {
+        private final SubscriptionHandle subscriptionHandle;
+        private final Consumer<TopicMessage> onNext;
+        @Nullable
+        private final TopicMessageBuffer buffer;
+        @Nullable
+        private final TopicSubscriptionManager manager;
+
+        @Nullable
+        private volatile ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call = null;
+        private volatile boolean unsubscribed = false;
+        // the consumer fell behind a buffer which ends the subscription, which was reported already
+        private volatile boolean overflowed = false;
+
+        ConsumerSink(
+            SubscriptionHandle subscriptionHandle,
+            Consumer<TopicMessage> onNext,
+            @Nullable TopicMessageBuffer buffer,
+            @Nullable TopicSubscriptionManager manager
+        ) {
+            this.subscriptionHandle = subscriptionHandle;
+            this.onNext = onNext;
+            this.buffer = buffer;
+            this.manager = manager;
+        }
+
+        @Override
+        public void onStart(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call) {
+            this.call = call;
+
+            // an unsubscribe which didn't see this call yet
+            if (unsubscribed) {
+                call.cancel("unsubscribe", null);
+            } else {
+                requestNext(call);
+            }
+        }
+
+        private void requestNext(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call) {
+            if (buffer != null) {
+                buffer.requestWhenRoom(() -> call.request(1));
+            } else {
+                call.request(1);
+            }
+        }
+
+        void unsubscribe() {
+            unsubscribed = true;
+
+            var currentCall = call;
+            if (currentCall != null) {
+                currentCall.cancel("unsubscribe", null);
+            }
+
+            if (buffer != null) {
+                buffer.close();
+            }
+
+            if (manager != null) {
+                manager.remove(subscriptionHandle);
+            }
+        }
 
-                // not possible as we do [putIfAbsent]
-                // add our response to the pending chunk list
-                Objects.requireNonNull(chunks).add(consensusTopicResponse);
+        @Override
+        public boolean isCancelled() {
+            return unsubscribed;
+        }
 
-                // if we now have enough chunks, emit
-                if (chunks.size() == consensusTopicResponse.getChunkInfo().getTotal()) {
-                    var message = TopicMessage.ofMany(chunks);
+        @Override
+        public void onResponse(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call, @Nullable TopicMessage message) {
+            if (message != null) {
+                subscriptionHandle.setLastConsensusTimestamp(message.consensusTimestamp);
 
+                if (buffer == null) {
                     try {
                         onNext.accept(message);
                     } catch (Throwable t) {
                         errorHandler.accept(t, message);
                     }
+                } else if (!buffer.add(message)) {
+                    overflowed = true;
+                    subscriptionHandle.unsubscribe();
+                    errorHandler.accept(new IllegalStateException(
+                        "the consumer fell " + bufferSize + " messages behind the subscription"), message);
+                    return;
                 }
             }
 
-            @Override
-            public void onError(Throwable t) {
-                if (attempt >= maxAttempts || !retryHandler.test(t)) {
-                    errorHandler.accept(t, null);
+            requestNext(call);
+        }
+
+        @Override
+        public void onComplete() {
+            if (manager != null) {
+                manager.remove(subscriptionHandle);
+            }
+
+            if (buffer != null) {
+                // after the consumer has been handed the messages still in the buffer
+                buffer.complete(completionHandler);
+            } else {
+                completionHandler.run();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (manager != null) {
+                manager.remove(subscriptionHandle);
+            }
+
+            // the call closing because the overflow cancelled it; the overflow itself was reported
+            if (overflowed) {
+                return;
+            }
+
+            errorHandler.accept(throwable, null);
+        }
+    }
+
+    /**
+     * The subscription of one subscriber of {@link #toPublisher(Client)}.
+     * <p>
+     * Each call asks the mirror node for as many messages as the subscriber has requested and not been handed yet, up
+     * to {@link Integer#MAX_VALUE} at a time. A chunk which doesn't complete a message is replaced by asking for one
+     * more, since it didn't satisfy any demand. The subscriber is only signalled from the callbacks of the calls, so
+     * {@link #request(long)} and {@link #cancel()} never signal it themselves; an invalid request cancels the call, and
+     * the call closing signals the error.
+     */
+    private final class PublisherSink implements MessageSink, Subscription {
+        private final Subscriber<? super TopicMessage> subscriber;
+
+        // guarded by this
+        @Nullable
+        private ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call = null;
+        private long demand = 0;
+        private long outstanding = 0;
+        private boolean cancelled = false;
+        @Nullable
+        private Throwable error = null;
+
+        private volatile boolean done = false;
+
+        PublisherSink(Subscriber<? super TopicMessage> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (cancelled) {
+                return;
+            }
+
+            if (n <= 0) {
+                error = new IllegalArgumentException("request must be positive, but was " + n);
+                cancel();
+                return;
+            }
+
+            // Long.MAX_VALUE is unbounded demand, and stays that way
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            requestMore();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+
+            if (call != null) {
+                call.cancel("cancelled", null);
+            }
+        }
+
+        @Override
+        public synchronized void onStart(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call) {
+            this.call = call;
+            outstanding = 0;
+
+            if (cancelled) {
+                call.cancel("cancelled", null);
+            } else {
+                requestMore();
+            }
+        }
+
+        @Override
+        public void onResponse(ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call, @Nullable TopicMessage message) {
+            synchronized (this) {
+                if (cancelled) {
                     return;
                 }
 
-                var delay = Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
-                var topicId = TopicId.fromProtobuf(builder.getTopicID());
-                LOGGER.warn("Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
-                    topicId, attempt, delay, t.getMessage());
-                call.cancel("unsubscribed", null);
-
-                // Cannot use `CompletableFuture<U>` here since this future is never polled
-                try {
-                    Thread.sleep(delay);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+                outstanding -= 1;
 
-                try {
-                    makeStreamingCall(client, subscriptionHandle, onNext, attempt + 1, counter, lastMessage, pendingMessages);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException(e);
+                if (message != null && demand != Long.MAX_VALUE) {
+                    demand -= 1;
                 }
+
+                requestMore();
             }
 
-            @Override
-            public void onCompleted() {
-                completionHandler.run();
+            if (message == null) {
+                return;
             }
-        });
+
+            try {
+                subscriber.onNext(message);
+            } catch (Throwable t) {
+                // a subscriber which throws has broken the contract, so there is no one left to tell about it
+                LOGGER.error("Subscriber to topic {} threw from onNext, cancelling its subscription:",
+                    TopicId.fromProtobuf(builder.getTopicID()), t);
+                cancel();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done && !isCancelled()) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            var requestError = getError();
+
+            if (requestError == null && isCancelled()) {
+                // the subscriber doesn't hear from a subscription it cancelled
+                return;
+            }
+
+            if (!done) {
+                done = true;
+                subscriber.onError(requestError != null ? requestError : throwable);
+            }
+        }
+
+        @Override
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Nullable
+        private synchronized Throwable getError() {
+            return error;
+        }
+
+        // guarded by this
+        private void requestMore() {
+            var more = Math.min(demand, Integer.MAX_VALUE) - outstanding;
+
+            if (call != null && more > 0) {
+                outstanding += more;
+                call.request((int) more);
+            }
+        }
     }
 }
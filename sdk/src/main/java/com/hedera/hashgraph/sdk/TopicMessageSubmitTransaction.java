@@ -71,6 +71,29 @@ public final class TopicMessageSubmitTransaction extends ChunkedTransaction<Topi
         return setData(message);
     }
 
+    public int getMaxChunksInFlight() {
+        return maxChunksInFlight;
+    }
+
+    /**
+     * Set how many chunks of a message larger than one chunk may be sent at once.
+     * <p>
+     * Each chunk carries its number and the ID of the first chunk, and subscribers put the chunks back together by
+     * number, so the chunks don't have to reach consensus in order. By default the chunks are sent one after another;
+     * with a higher value the next chunk is sent while earlier ones are still waiting for the node to accept them.
+     *
+     * @param maxChunksInFlight The number of chunks to send at once, at least 1
+     * @return {@code this}
+     */
+    public TopicMessageSubmitTransaction setMaxChunksInFlight(int maxChunksInFlight) {
+        if (maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("maxChunksInFlight must be at least 1");
+        }
+
+        this.maxChunksInFlight = maxChunksInFlight;
+        return this;
+    }
+
     void initFromTransactionBody() {
         var body = sourceTransactionBody.getConsensusSubmitMessage();
         if (body.hasTopicID()) {
@@ -0,0 +1,292 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import io.grpc.Channel;
+import java8.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps many topic subscriptions streaming over a shared pool of mirror node channels.
+ * <p>
+ * Each subscription is placed on the channel with the fewest streams across every mirror node, and no channel carries
+ * more than {@link #getMaxStreamsPerChannel()} streams; once every channel is full, another channel is opened to the
+ * least busy node. A mirror node which fails a stream is backed off once for all of its streams, so they reconnect
+ * to the other mirror nodes while it is away. Reconnects are paced to {@link #getMaxReconnectsPerSecond()}, so a
+ * mirror node restart doesn't turn into every stream reconnecting at the same moment. Each subscription resumes from
+ * the message after the last one it received, and reports how far behind it is with
+ * {@link SubscriptionHandle#getLag()}.
+ */
+public final class TopicSubscriptionManager {
+    private static final Logger logger = LoggerFactory.getLogger(TopicSubscriptionManager.class);
+
+    // the default limit on concurrent streams of most HTTP/2 servers
+    static final int DEFAULT_MAX_STREAMS_PER_CHANNEL = 100;
+    static final int DEFAULT_MAX_RECONNECTS_PER_SECOND = 200;
+
+    private static final long RECONNECT_INTERVAL_MILLIS = 100;
+
+    private final Client client;
+    private volatile int maxStreamsPerChannel = DEFAULT_MAX_STREAMS_PER_CHANNEL;
+    private volatile int maxReconnectsPerSecond = DEFAULT_MAX_RECONNECTS_PER_SECOND;
+
+    private final Set<SubscriptionHandle> subscriptions =
+        Collections.newSetFromMap(new ConcurrentHashMap<SubscriptionHandle, Boolean>());
+
+    // guarded by this
+    private final HashMap<ManagedNode.PooledChannel, Integer> streams = new HashMap<>();
+
+    private final ConcurrentLinkedQueue<Runnable> reconnects = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean reconnecting = new AtomicBoolean();
+
+    public TopicSubscriptionManager(Client client) {
+        this.client = Objects.requireNonNull(client, "client must not be null");
+    }
+
+    /**
+     * The most subscriptions to stream over one channel, and so one HTTP/2 connection. Defaults to 100.
+     *
+     * @param maxStreamsPerChannel The number of streams
+     * @return {@code this}
+     */
+    public TopicSubscriptionManager setMaxStreamsPerChannel(int maxStreamsPerChannel) {
+        if (maxStreamsPerChannel <= 0) {
+            throw new IllegalArgumentException("maxStreamsPerChannel must be positive");
+        }
+        this.maxStreamsPerChannel = maxStreamsPerChannel;
+        return this;
+    }
+
+    public int getMaxStreamsPerChannel() {
+        return maxStreamsPerChannel;
+    }
+
+    /**
+     * The most failed streams to open again per second, across every subscription. Defaults to 200.
+     *
+     * @param maxReconnectsPerSecond The number of reconnects
+     * @return {@code this}
+     */
+    public TopicSubscriptionManager setMaxReconnectsPerSecond(int maxReconnectsPerSecond) {
+        if (maxReconnectsPerSecond <= 0) {
+            throw new IllegalArgumentException("maxReconnectsPerSecond must be positive");
+        }
+        this.maxReconnectsPerSecond = maxReconnectsPerSecond;
+        return this;
+    }
+
+    public int getMaxReconnectsPerSecond() {
+        return maxReconnectsPerSecond;
+    }
+
+    /**
+     * Subscribe to the topic of a query through this manager. The handlers, retry settings and buffering of the query
+     * apply as they do to {@link TopicMessageQuery#subscribe(Client, Consumer)}.
+     *
+     * @param query  The query to subscribe with
+     * @param onNext The consumer of the messages
+     * @return The handle of the subscription
+     */
+    public SubscriptionHandle subscribe(TopicMessageQuery query, Consumer<TopicMessage> onNext) {
+        Objects.requireNonNull(query, "query must not be null");
+        Objects.requireNonNull(onNext, "onNext must not be null");
+
+        return query.subscribe(client, this, onNext);
+    }
+
+    /**
+     * @return The subscriptions which haven't completed, failed or been unsubscribed
+     */
+    public List<SubscriptionHandle> getSubscriptions() {
+        return new ArrayList<>(subscriptions);
+    }
+
+    /**
+     * End every subscription of this manager
+     */
+    public void unsubscribeAll() {
+        for (var subscription : getSubscriptions()) {
+            subscription.unsubscribe();
+        }
+    }
+
+    void add(SubscriptionHandle subscription) {
+        subscriptions.add(subscription);
+    }
+
+    void remove(SubscriptionHandle subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /**
+     * Place a new stream on the channel with the fewest streams, preferring healthy mirror nodes other than the one
+     * the stream last failed on.
+     *
+     * @param failedNode - the node the stream failed on, or {@code null} for a new stream
+     * @return - the placement, which must be released once the stream closes
+     */
+    synchronized Placement place(@Nullable MirrorNode failedNode) {
+        var nodes = client.mirrorNetwork.getNodesSnapshot();
+
+        if (nodes.isEmpty()) {
+            throw new IllegalStateException("the client has no mirror network");
+        }
+
+        @Var @Nullable MirrorNode bestNode = null;
+        @Var @Nullable ManagedNode.PooledChannel bestChannel = null;
+        @Var var bestRank = Integer.MAX_VALUE;
+        @Var var bestStreams = Integer.MAX_VALUE;
+
+        // least busy node to open another channel to once every channel is full
+        @Var var growNode = nodes.get(0);
+        @Var var growRank = Integer.MAX_VALUE;
+        @Var var growStreams = Integer.MAX_VALUE;
+
+        for (var node : nodes) {
+            var rank = rank(node, failedNode);
+            var channels = node.getChannels();
+            @Var var nodeStreams = 0;
+
+            for (var channel : channels) {
+                var count = getStreams(channel);
+                nodeStreams += count;
+
+                if (count < maxStreamsPerChannel && (rank < bestRank || (rank == bestRank && count < bestStreams))) {
+                    bestNode = node;
+                    bestChannel = channel;
+                    bestRank = rank;
+                    bestStreams = count;
+                }
+            }
+
+            if (rank < growRank || (rank == growRank && nodeStreams < growStreams)) {
+                growNode = node;
+                growRank = rank;
+                growStreams = nodeStreams;
+            }
+        }
+
+        // rather than a free channel on a worse node, open another channel to the best one
+        if (bestNode == null || bestChannel == null || bestRank > growRank) {
+            bestNode = growNode.setChannelCount(growNode.getChannelCount() + 1);
+            var channels = bestNode.getChannels();
+            bestChannel = channels[channels.length - 1];
+        }
+
+        streams.put(bestChannel, getStreams(bestChannel) + 1);
+
+        return new Placement(bestNode, bestChannel);
+    }
+
+    /**
+     * Open a failed stream again once its backoff has passed, and no sooner than
+     * {@link #getMaxReconnectsPerSecond()} allows.
+     *
+     * @param failedNode - the node the stream failed on
+     * @param delay      - the backoff of the stream in milliseconds
+     * @param reconnect  - opens the stream again
+     */
+    void reconnect(MirrorNode failedNode, long delay, Runnable reconnect) {
+        // the first stream to fail backs the node off for every stream on it
+        if (failedNode.isHealthy()) {
+            failedNode.increaseDelay();
+        }
+
+        Delayer.delayFor(delay, client.executor).thenRun(() -> {
+            reconnects.add(reconnect);
+            scheduleReconnects();
+        });
+    }
+
+    private void scheduleReconnects() {
+        if (reconnecting.compareAndSet(false, true)) {
+            Delayer.delayFor(RECONNECT_INTERVAL_MILLIS, client.executor).thenRun(this::runReconnects);
+        }
+    }
+
+    private void runReconnects() {
+        var batch = Math.max(1, (int) (maxReconnectsPerSecond * RECONNECT_INTERVAL_MILLIS / 1000));
+
+        try {
+            for (int i = 0; i < batch; i++) {
+                var reconnect = reconnects.poll();
+                if (reconnect == null) {
+                    break;
+                }
+
+                try {
+                    reconnect.run();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to reconnect a topic subscription", e);
+                }
+            }
+        } finally {
+            reconnecting.set(false);
+        }
+
+        if (!reconnects.isEmpty()) {
+            scheduleReconnects();
+        }
+    }
+
+    private synchronized void release(ManagedNode.PooledChannel channel) {
+        var count = getStreams(channel) - 1;
+
+        if (count > 0) {
+            streams.put(channel, count);
+        } else {
+            streams.remove(channel);
+        }
+    }
+
+    // guarded by this
+    private int getStreams(ManagedNode.PooledChannel channel) {
+        var count = streams.get(channel);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Lower is better: 0 for a healthy node, 1 for a node which is backing off, and 2 for the node the stream just
+     * failed on, which is only used again when there is nowhere else to go.
+     */
+    private static int rank(MirrorNode node, @Nullable MirrorNode failedNode) {
+        if (failedNode != null && node.getKey().equals(failedNode.getKey())) {
+            return 2;
+        }
+
+        return node.isHealthy() ? 0 : 1;
+    }
+
+    /**
+     * The channel a stream was placed on
+     */
+    final class Placement {
+        final MirrorNode node;
+        final Channel channel;
+        private final ManagedNode.PooledChannel pooledChannel;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Placement(MirrorNode node, ManagedNode.PooledChannel pooledChannel) {
+            this.node = node;
+            this.channel = pooledChannel.countingChannel;
+            this.pooledChannel = pooledChannel;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                TopicSubscriptionManager.this.release(pooledChannel);
+            }
+        }
+    }
+}
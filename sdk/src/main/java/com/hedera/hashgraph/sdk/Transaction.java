@@ -3,6 +3,7 @@ package com.hedera.hashgraph.sdk;
 import com.google.errorprone.annotations.Var;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 import com.hedera.hashgraph.sdk.proto.SchedulableTransactionBody;
 import com.hedera.hashgraph.sdk.proto.SignatureMap;
 import com.hedera.hashgraph.sdk.proto.SignaturePair;
@@ -10,6 +11,8 @@ import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.TransactionBody;
 import com.hedera.hashgraph.sdk.proto.TransactionList;
 import java8.util.concurrent.CompletableFuture;
+import java8.util.concurrent.ForkJoinPool;
+import java8.util.concurrent.RecursiveAction;
 import java8.util.function.Function;
 import org.bouncycastle.crypto.digests.SHA384Digest;
 import org.threeten.bp.Duration;
@@ -18,10 +21,12 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Base class for all transactions that may be built and submitted to Hedera.
@@ -60,6 +65,17 @@ public abstract class Transaction<T extends Transaction<T>>
     // the signer is not available (likely because this came from fromBytes())
     protected List<PublicKey> publicKeys = new ArrayList<>();
     protected List<Function<byte[], byte[]>> signers = new ArrayList<>();
+    // batchSigners is parallel to publicKeys as well. It is only non-null for keys added with signWithBatch(), whose
+    // entry in signers is null.
+    protected List<BatchTransactionSigner> batchSigners = new ArrayList<>();
+    // publicKeyBytes is parallel to publicKeys and holds the bytes each key is identified by in a signature map, made
+    // once when the key is added so signing for each node doesn't copy them again. publicKeyBytesSet holds the same
+    // bytes to tell whether a key was already added.
+    protected List<ByteString> publicKeyBytes = new ArrayList<>();
+    private final Set<ByteString> publicKeyBytesSet = new HashSet<>();
+    // batchSignings holds the batch signing in flight for each key, by its bytes, so a second trigger waits on it
+    // rather than asking the signer again. Guarded by this transaction, like the signatures a batch signing applies.
+    private final Map<ByteString, CompletableFuture<Void>> batchSignings = new HashMap<>();
     protected Hbar defaultMaxTransactionFee = new Hbar(2);
     // For SDK Transactions that require multiple protobuf transaction ID's this variable keeps track of the current
     // execution group.
@@ -118,8 +134,12 @@ public abstract class Transaction<T extends Transaction<T>>
 
                 if (publicKeys.isEmpty()) {
                     for (var sigPair : transaction.getSigMap().getSigPairList()) {
-                        publicKeys.add(PublicKey.fromBytes(sigPair.getPubKeyPrefix().toByteArray()));
-                        signers.add(null);
+                        addPublicKey(
+                            PublicKey.fromBytes(sigPair.getPubKeyPrefix().toByteArray()),
+                            sigPair.getPubKeyPrefix(),
+                            null,
+                            null
+                        );
                     }
                 }
             }
@@ -440,6 +460,113 @@ public abstract class Transaction<T extends Transaction<T>>
         return hash;
     }
 
+    /**
+     * Freeze, sign and build many transactions in parallel on the common {@link ForkJoinPool}.
+     *
+     * @see #prepareAll(Client, List, List, ForkJoinPool)
+     * @param client - the client used to freeze and sign with the operator
+     * @param transactions - the transactions to prepare
+     * @param privateKeys - any keys, besides the operator, every transaction should be signed with
+     * @param <T> - the type of the transactions
+     * @return {@code transactions}
+     */
+    public static <T extends Transaction<?>> List<T> prepareAll(
+        Client client,
+        List<T> transactions,
+        List<PrivateKey> privateKeys
+    ) {
+        return prepareAll(client, transactions, privateKeys, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Freeze, sign and build many transactions in parallel so they are ready to be sent.
+     * <p>
+     * Each transaction is frozen with {@code client}, signed with the operator when the operator is paying for it (as
+     * {@code execute()} would), signed with each of {@code privateKeys}, and then has the signed transaction for every
+     * one of its nodes built. Executing or serializing a prepared transaction does no more signing unless more keys are
+     * added.
+     * <p>
+     * Each transaction is only touched by a single thread, but a transaction must not be used by any other thread
+     * until this returns.
+     *
+     * @param client - the client used to freeze and sign with the operator
+     * @param transactions - the transactions to prepare
+     * @param privateKeys - any keys, besides the operator, every transaction should be signed with
+     * @param pool - the pool to prepare the transactions on
+     * @param <T> - the type of the transactions
+     * @return {@code transactions}
+     */
+    public static <T extends Transaction<?>> List<T> prepareAll(
+        Client client,
+        List<T> transactions,
+        List<PrivateKey> privateKeys,
+        ForkJoinPool pool
+    ) {
+        pool.invoke(new PrepareTask(client, transactions, privateKeys, 0, transactions.size()));
+        return transactions;
+    }
+
+    /**
+     * Do the work of {@code execute()} which doesn't need the network for a single transaction
+     *
+     * @param client
+     * @param privateKeys
+     */
+    private void prepare(Client client, List<PrivateKey> privateKeys) {
+        freezeWith(client);
+
+        var operatorId = client.getOperatorAccountId();
+        if (operatorId != null && operatorId.equals(getTransactionId().accountId)) {
+            signWithOperator(client);
+        }
+
+        for (var privateKey : privateKeys) {
+            sign(privateKey);
+        }
+
+        buildAllTransactions();
+    }
+
+    /**
+     * Prepares a range of transactions, splitting it in half until it is small enough to do in one task
+     */
+    private static final class PrepareTask extends RecursiveAction {
+        /**
+         * Each transaction signs once per node, so this is enough work to outweigh the cost of a task
+         */
+        private static final int THRESHOLD = 16;
+
+        private final Client client;
+        private final List<? extends Transaction<?>> transactions;
+        private final List<PrivateKey> privateKeys;
+        private final int start;
+        private final int end;
+
+        PrepareTask(Client client, List<? extends Transaction<?>> transactions, List<PrivateKey> privateKeys, int start, int end) {
+            this.client = client;
+            this.transactions = transactions;
+            this.privateKeys = privateKeys;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    transactions.get(i).prepare(client, privateKeys);
+                }
+            } else {
+                var middle = (start + end) >>> 1;
+
+                invokeAll(
+                    new PrepareTask(client, transactions, privateKeys, start, middle),
+                    new PrepareTask(client, transactions, privateKeys, middle, end)
+                );
+            }
+        }
+    }
+
     protected ScheduleCreateTransaction doSchedule(TransactionBody.Builder bodyBuilder) {
         var schedulable = SchedulableTransactionBody.newBuilder()
             .setTransactionFee(bodyBuilder.getTransactionFee())
@@ -530,6 +657,33 @@ public abstract class Transaction<T extends Transaction<T>>
         return (T) this;
     }
 
+    @Nullable
+    public final Double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * Enable request hedging for this transaction.
+     * <p>
+     * When a node has not answered within the given percentile of its recently observed latency, the transaction is
+     * also submitted to the next node this transaction was frozen for, and whichever node answers first is used. Each
+     * node already has its own copy of the transaction with the same transaction ID, so at most one of them is executed
+     * and hedging needs no extra signing.
+     * <p>
+     * Hedging only starts once a node has answered enough requests for its latency to be known.
+     *
+     * @param percentile a percentile of the node's latency in the range (0, 100], e.g. 95
+     * @return {@code this}
+     */
+    public final T setHedgingPercentile(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("hedgingPercentile must be greater than 0 and at most 100");
+        }
+        this.hedgingPercentile = percentile;
+        // noinspection unchecked
+        return (T) this;
+    }
+
     public final Hbar getDefaultMaxTransactionFee() {
         return defaultMaxTransactionFee;
     }
@@ -645,13 +799,207 @@ public abstract class Transaction<T extends Transaction<T>>
         for (int i = 0; i < outerTransactions.size(); i++) {
             outerTransactions.set(i, null);
         }
-        publicKeys.add(publicKey);
-        signers.add(transactionSigner);
+        addPublicKey(publicKey, transactionSigner, null);
 
         // noinspection unchecked
         return (T) this;
     }
 
+    /**
+     * Sign with a key whose signer signs many bodies in a single call.
+     * <p>
+     * The signer is called once with the body for every node the first time this transaction is signed for any node,
+     * or up front by {@link #executeAsync(Client)} so executing never blocks on the signer.
+     *
+     * @param publicKey - the public key of the signer
+     * @param transactionSigner - the signer
+     * @return {@code this}
+     */
+    public T signWithBatch(PublicKey publicKey, BatchTransactionSigner transactionSigner) {
+        if (!isFrozen()) {
+            throw new IllegalStateException("Signing requires transaction to be frozen");
+        }
+
+        if (keyAlreadySigned(publicKey)) {
+            // noinspection unchecked
+            return (T) this;
+        }
+
+        for (int i = 0; i < outerTransactions.size(); i++) {
+            outerTransactions.set(i, null);
+        }
+        addPublicKey(publicKey, null, transactionSigner);
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
+    /**
+     * Sign many frozen transactions with a key whose signer signs many bodies in a single call. The signer is called
+     * once with the body for every node of every transaction.
+     *
+     * @param transactions - the frozen transactions to sign
+     * @param publicKey - the public key of the signer
+     * @param transactionSigner - the signer
+     * @return - a future which completes once every transaction has been signed
+     */
+    public static CompletableFuture<Void> signAllWithBatch(
+        List<? extends Transaction<?>> transactions,
+        PublicKey publicKey,
+        BatchTransactionSigner transactionSigner
+    ) {
+        var request = new BatchSignRequest(ByteString.copyFrom(publicKey.toBytes()));
+        var futures = new ArrayList<CompletableFuture<Void>>();
+
+        for (var transaction : transactions) {
+            transaction.signWithBatch(publicKey, transactionSigner);
+            futures.add(request.add(transaction));
+        }
+
+        request.send(transactionSigner);
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Sign the body for every node with each batch signer which hasn't signed it yet, with one call per signer. A
+     * signer which is already signing this transaction isn't called again; its signing in flight is waited on instead.
+     *
+     * @return - a future which completes once every batch signer has signed
+     */
+    CompletableFuture<Void> signWithBatchSignersAsync() {
+        var futures = new ArrayList<CompletableFuture<Void>>();
+
+        for (int i = 0; i < publicKeys.size(); i++) {
+            var batchSigner = batchSigners.get(i);
+
+            if (batchSigner != null) {
+                var request = new BatchSignRequest(publicKeyBytes.get(i));
+                futures.add(request.add(this));
+                request.send(batchSigner);
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private synchronized boolean hasPendingBatchSignature(int index) {
+        for (int i = 0; i < publicKeys.size(); i++) {
+            if (
+                batchSigners.get(i) != null &&
+                    !publicKeyIsInSigPairList(publicKeyBytes.get(i), sigPairLists.get(index).getSigPairList())
+            ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Collects the bodies a key hasn't signed yet across one or more transactions, so they can be signed in one call
+     */
+    private static final class BatchSignRequest {
+        private final ByteString publicKeyBytes;
+        private final List<Transaction<?>> transactions = new ArrayList<>();
+        private final List<Integer> indexes = new ArrayList<>();
+        private final List<byte[]> messages = new ArrayList<>();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        BatchSignRequest(ByteString publicKeyBytes) {
+            this.publicKeyBytes = publicKeyBytes;
+        }
+
+        /**
+         * Collect the bodies of {@code transaction} the key hasn't signed, unless the key is already signing it
+         *
+         * @return - a future which completes once the key has signed every body of {@code transaction}
+         */
+        CompletableFuture<Void> add(Transaction<?> transaction) {
+            synchronized (transaction) {
+                var inFlight = transaction.batchSignings.get(publicKeyBytes);
+                if (inFlight != null) {
+                    return inFlight;
+                }
+
+                @Var var added = false;
+
+                for (int i = 0; i < transaction.sigPairLists.size(); i++) {
+                    if (!publicKeyIsInSigPairList(publicKeyBytes, transaction.sigPairLists.get(i).getSigPairList())) {
+                        transactions.add(transaction);
+                        indexes.add(i);
+                        messages.add(transaction.innerSignedTransactions.get(i).getBodyBytes().toByteArray());
+                        added = true;
+                    }
+                }
+
+                if (!added) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                transaction.batchSignings.put(publicKeyBytes, result);
+                return result;
+            }
+        }
+
+        void send(BatchTransactionSigner transactionSigner) {
+            if (messages.isEmpty()) {
+                result.complete(null);
+                return;
+            }
+
+            try {
+                transactionSigner.sign(messages).thenAccept(this::apply).whenComplete((ignored, error) -> {
+                    finish();
+
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(null);
+                    }
+                });
+            } catch (RuntimeException e) {
+                finish();
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void apply(List<byte[]> signatures) {
+            if (signatures.size() != messages.size()) {
+                throw new IllegalStateException(
+                    "batch signer returned " + signatures.size() + " signatures for " + messages.size() + " messages");
+            }
+
+            for (int i = 0; i < signatures.size(); i++) {
+                var transaction = transactions.get(i);
+                var index = indexes.get(i);
+
+                synchronized (transaction) {
+                    var sigPairList = transaction.sigPairLists.get(index);
+
+                    if (!publicKeyIsInSigPairList(publicKeyBytes, sigPairList.getSigPairList())) {
+                        sigPairList.addSigPair(makeSignaturePair(publicKeyBytes, signatures.get(i)));
+                        transaction.outerTransactions.set(index, null);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Stop sharing this request with later triggers before it completes, so a trigger after a failure asks the
+         * signer again
+         */
+        private void finish() {
+            for (var transaction : transactions) {
+                synchronized (transaction) {
+                    if (transaction.batchSignings.get(publicKeyBytes) == result) {
+                        transaction.batchSignings.remove(publicKeyBytes);
+                    }
+                }
+            }
+        }
+    }
+
     public T signWithOperator(Client client) {
         var operator = client.getOperator();
 
@@ -664,17 +1012,40 @@ public abstract class Transaction<T extends Transaction<T>>
             freezeWith(client);
         }
 
+        return signWithOperator(operator);
+    }
+
+    T signWithOperator(Client.Operator operator) {
+        if (operator.batchSigner != null) {
+            return signWithBatch(operator.publicKey, operator.batchSigner);
+        }
+
         return signWith(operator.publicKey, operator.transactionSigner);
     }
 
     protected boolean keyAlreadySigned(PublicKey key) {
-        for (var publicKey : publicKeys) {
-            if (publicKey.toString().equals(key.toString())) {
-                return true;
-            }
-        }
+        return publicKeyBytesSet.contains(UnsafeByteOperations.unsafeWrap(key.toBytes()));
+    }
 
-        return false;
+    private void addPublicKey(
+        PublicKey publicKey,
+        @Nullable Function<byte[], byte[]> transactionSigner,
+        @Nullable BatchTransactionSigner batchSigner
+    ) {
+        addPublicKey(publicKey, ByteString.copyFrom(publicKey.toBytes()), transactionSigner, batchSigner);
+    }
+
+    private void addPublicKey(
+        PublicKey publicKey,
+        ByteString keyBytes,
+        @Nullable Function<byte[], byte[]> transactionSigner,
+        @Nullable BatchTransactionSigner batchSigner
+    ) {
+        publicKeys.add(publicKey);
+        publicKeyBytes.add(keyBytes);
+        publicKeyBytesSet.add(keyBytes);
+        signers.add(transactionSigner);
+        batchSigners.add(batchSigner);
     }
 
     public T addSignature(PublicKey publicKey, byte[] signature) {
@@ -692,9 +1063,8 @@ public abstract class Transaction<T extends Transaction<T>>
         for (int i = 0; i < outerTransactions.size(); i++) {
             outerTransactions.set(i, null);
         }
-        publicKeys.add(publicKey);
-        signers.add(null);
-        sigPairLists.get(0).addSigPair(publicKey.toSignaturePairProtobuf(signature));
+        addPublicKey(publicKey, null, null);
+        sigPairLists.get(0).addSigPair(makeSignaturePair(publicKeyBytes.get(publicKeyBytes.size() - 1), signature));
 
         // noinspection unchecked
         return (T) this;
@@ -820,7 +1190,16 @@ public abstract class Transaction<T extends Transaction<T>>
 
         frozenBodyBuilder = spawnBodyBuilder(client).setTransactionID(transactionIds.get(0).toProtobuf());
         onFreeze(frozenBodyBuilder);
+        onFreezeBodies(frozenBodyBuilder);
 
+        // noinspection unchecked
+        return (T) this;
+    }
+
+    /**
+     * Build the body of the transaction for each node from the frozen body builder.
+     */
+    void onFreezeBodies(TransactionBody.Builder bodyBuilder) {
         outerTransactions = new ArrayList<>(nodeAccountIds.size());
         sigPairLists = new ArrayList<>(nodeAccountIds.size());
         innerSignedTransactions = new ArrayList<>(nodeAccountIds.size());
@@ -828,16 +1207,13 @@ public abstract class Transaction<T extends Transaction<T>>
         for (AccountId nodeId : nodeAccountIds) {
             sigPairLists.add(SignatureMap.newBuilder());
             innerSignedTransactions.add(com.hedera.hashgraph.sdk.proto.SignedTransaction.newBuilder()
-                .setBodyBytes(frozenBodyBuilder
+                .setBodyBytes(bodyBuilder
                     .setNodeAccountID(nodeId.toProtobuf())
                     .build()
                     .toByteString()
                 ));
             outerTransactions.add(null);
         }
-
-        // noinspection unchecked
-        return (T) this;
     }
 
     void buildAllTransactions() {
@@ -862,13 +1238,15 @@ public abstract class Transaction<T extends Transaction<T>>
 
         signTransaction(index);
 
-        outerTransactions.set(index, com.hedera.hashgraph.sdk.proto.Transaction.newBuilder()
-            .setSignedTransactionBytes(
-                innerSignedTransactions.get(index)
-                    .setSigMap(sigPairLists.get(index))
-                    .build()
-                    .toByteString()
-            ).build());
+        synchronized (this) {
+            outerTransactions.set(index, com.hedera.hashgraph.sdk.proto.Transaction.newBuilder()
+                .setSignedTransactionBytes(
+                    innerSignedTransactions.get(index)
+                        .setSigMap(sigPairLists.get(index))
+                        .build()
+                        .toByteString()
+                ).build());
+        }
     }
 
     private static boolean publicKeyIsInSigPairList(ByteString publicKeyBytes, List<SignaturePair> sigPairList) {
@@ -880,27 +1258,49 @@ public abstract class Transaction<T extends Transaction<T>>
         return false;
     }
 
+    private static SignaturePair makeSignaturePair(ByteString publicKeyBytes, byte[] signature) {
+        // the key bytes are shared by every signature pair the key makes rather than copied for each one
+        return SignaturePair.newBuilder()
+            .setPubKeyPrefix(publicKeyBytes)
+            .setEd25519(ByteString.copyFrom(signature))
+            .build();
+    }
+
     /**
      * Will sign the specific transaction at {@code index}
      * This function is only ever called after the transaction is frozen.
      */
     void signTransaction(int index) {
-        var bodyBytes = innerSignedTransactions.get(index).getBodyBytes().toByteArray();
-        var thisSigPairList = sigPairLists.get(index).getSigPairList();
+        if (hasPendingBatchSignature(index)) {
+            // sign the body for every node with one call rather than one call per node; not under the lock, which
+            // the batch signing needs to apply its signatures
+            signWithBatchSignersAsync().join();
+        }
 
-        for (var i = 0; i < publicKeys.size(); i++) {
-            if (signers.get(i) == null) {
-                continue;
-            }
-            if (publicKeyIsInSigPairList(ByteString.copyFrom(publicKeys.get(i).toBytes()), thisSigPairList)) {
-                continue;
-            }
+        synchronized (this) {
+            @Var byte[] bodyBytes = null;
+            var thisSigPairList = sigPairLists.get(index).getSigPairList();
 
-            var signatureBytes = signers.get(i).apply(bodyBytes);
+            for (var i = 0; i < publicKeys.size(); i++) {
+                var signer = signers.get(i);
+                if (signer == null) {
+                    continue;
+                }
+                if (publicKeyIsInSigPairList(publicKeyBytes.get(i), thisSigPairList)) {
+                    continue;
+                }
+
+                if (bodyBytes == null) {
+                    // only copy the body out when there is a signature left to make
+                    bodyBytes = innerSignedTransactions.get(index).getBodyBytes().toByteArray();
+                }
+
+                var signatureBytes = signer.apply(bodyBytes);
 
-            sigPairLists
-                .get(index)
-                .addSigPair(publicKeys.get(i).toSignaturePairProtobuf(signatureBytes));
+                sigPairLists
+                    .get(index)
+                    .addSigPair(makeSignaturePair(publicKeyBytes.get(i), signatureBytes));
+            }
         }
     }
 
@@ -937,6 +1337,12 @@ public abstract class Transaction<T extends Transaction<T>>
         return new TransactionResponse(nodeId, transactionId, hash, null);
     }
 
+    @Override
+    final boolean retriesTimedOutAttempts() {
+        // the node may have accepted the transaction, and the next node could only answer DUPLICATE_TRANSACTION
+        return false;
+    }
+
     @Override
     final Status mapResponseStatus(com.hedera.hashgraph.sdk.proto.TransactionResponse transactionResponse) {
         return Status.valueOf(transactionResponse.getNodeTransactionPrecheckCode());
@@ -971,7 +1377,9 @@ public abstract class Transaction<T extends Transaction<T>>
     @Override
     CompletableFuture<Void> onExecuteAsync(Client client) {
         onExecute(client);
-        return CompletableFuture.completedFuture(null);
+
+        // sign with any batch signers up front so sending never blocks waiting on them
+        return signWithBatchSignersAsync();
     }
 
     @Override
@@ -11,6 +11,7 @@ import javax.annotation.Nullable;
 
 import java.util.Collections;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
 
 import static java8.util.concurrent.CompletableFuture.completedFuture;
@@ -64,7 +65,8 @@ public final class TransactionId implements WithGetReceipt, WithGetRecord, Compa
      * @return {@link com.hedera.hashgraph.sdk.TransactionId}
      */
     public static TransactionId generate(AccountId accountId) {
-        Instant instant = Clock.systemUTC().instant().minusNanos((long) (Math.random() * 5000000000L + 8000000000L));
+        // ThreadLocalRandom as Math.random() contends on a single seed when many threads freeze transactions at once
+        Instant instant = Clock.systemUTC().instant().minusNanos(ThreadLocalRandom.current().nextLong(8000000000L, 13000000000L));
         return new TransactionId(accountId, instant);
     }
 
@@ -24,6 +24,10 @@ public final class TransactionReceiptQuery
     @Nullable
     TransactionId transactionId = null;
 
+    // Set by the ReceiptTracker, which schedules its own polls. An answer meaning the receipt isn't available yet
+    // finishes the query with a pending receipt instead of retrying; a busy node still fails it.
+    boolean pollOnce = false;
+
     public TransactionReceiptQuery() {
     }
 
@@ -97,10 +101,12 @@ public final class TransactionReceiptQuery
     @Override
     ExecutionState shouldRetry(Status status, Response response) {
         switch (status) {
-            case BUSY:
             case UNKNOWN:
             case RECEIPT_NOT_FOUND:
             case RECORD_NOT_FOUND:
+                return pollOnce ? ExecutionState.Finished : ExecutionState.Retry;
+
+            case BUSY:
                 return ExecutionState.Retry;
 
             case OK:
@@ -113,16 +119,27 @@ public final class TransactionReceiptQuery
         var receiptStatus =
             Status.valueOf(response.getTransactionGetReceipt().getReceipt().getStatus());
 
+        if (isReceiptPending(receiptStatus) && !pollOnce) {
+            return ExecutionState.Retry;
+        }
+
+        return ExecutionState.Finished;
+    }
+
+    /**
+     * Whether a receipt with this status is still waiting for its transaction to reach consensus
+     */
+    static boolean isReceiptPending(Status receiptStatus) {
         switch (receiptStatus) {
             case BUSY:
             case UNKNOWN:
             case OK:
             case RECEIPT_NOT_FOUND:
             case RECORD_NOT_FOUND:
-                return ExecutionState.Retry;
+                return true;
 
             default:
-                return ExecutionState.Finished;
+                return false;
         }
     }
 }
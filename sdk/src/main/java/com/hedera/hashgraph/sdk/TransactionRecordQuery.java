@@ -45,6 +45,13 @@ public final class TransactionRecordQuery extends Query<TransactionRecord, Trans
         return this;
     }
 
+    @Override
+    @Nullable
+    String getCostCacheKey() {
+        // the cost depends on the record, and a record is rarely asked for more than once
+        return null;
+    }
+
     @Override
     void validateChecksums(Client client) throws BadEntityIdException {
         if (transactionId != null) {
@@ -31,7 +31,10 @@ public final class TransactionResponse implements WithGetReceipt, WithGetRecord
     }
 
     public TransactionReceipt getReceipt(Client client) throws TimeoutException, PrecheckStatusException, ReceiptStatusException {
-        var receipt = new TransactionReceiptQuery()
+        var receiptTracker = client.getReceiptTracker();
+        var receipt = receiptTracker != null ?
+            receiptTracker.await(transactionId, nodeId) :
+            new TransactionReceiptQuery()
                 .setTransactionId(transactionId)
                 .setNodeAccountIds(Collections.singletonList(nodeId))
                 .execute(client);
@@ -45,6 +48,11 @@ public final class TransactionResponse implements WithGetReceipt, WithGetRecord
 
     @Override
     public CompletableFuture<TransactionReceipt> getReceiptAsync(Client client) {
+        var receiptTracker = client.getReceiptTracker();
+        if (receiptTracker != null) {
+            return receiptTracker.track(transactionId, nodeId);
+        }
+
         return new TransactionReceiptQuery()
             .setTransactionId(transactionId)
             .setNodeAccountIds(Collections.singletonList(nodeId))
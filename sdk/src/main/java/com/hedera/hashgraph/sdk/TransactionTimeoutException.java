@@ -0,0 +1,31 @@
+package com.hedera.hashgraph.sdk;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Signals that a node did not answer a transaction within the gRPC deadline.
+ * <p>
+ * The node may still have accepted the transaction, so it is not sent to another node, which could only fail with
+ * {@code DUPLICATE_TRANSACTION}. Ask for the receipt of {@link #transactionId} to find out whether it reached consensus.
+ */
+public class TransactionTimeoutException extends TimeoutException {
+    /**
+     * The ID of the transaction which may have been submitted
+     */
+    public final TransactionId transactionId;
+
+    /**
+     * The node which did not answer
+     */
+    public final AccountId nodeId;
+
+    TransactionTimeoutException(TransactionId transactionId, AccountId nodeId, Throwable cause) {
+        super("node " + nodeId + " did not answer transaction `" + transactionId +
+            "` in time; it may still reach consensus, so ask for its receipt");
+
+        this.transactionId = transactionId;
+        this.nodeId = nodeId;
+
+        initCause(cause);
+    }
+}
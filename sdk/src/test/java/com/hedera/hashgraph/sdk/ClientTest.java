@@ -49,6 +49,35 @@ class ClientTest {
         client.close();
     }
 
+    @ValueSource(ints = {-1, 0})
+    @ParameterizedTest(name = "Invalid channelsPerNode {0}")
+    void setChannelsPerNodeInvalid(int channelsPerNode) throws TimeoutException {
+        var client = Client.forNetwork(Map.of());
+        assertThrows(IllegalArgumentException.class, () -> {
+            client.setChannelsPerNode(channelsPerNode);
+        });
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Client.setChannelsPerNode() resizes an open pool")
+    void setChannelsPerNodeResizesPool() throws TimeoutException {
+        var client = Client.forNetwork(Map.of("in-process:channelsPerNode", new AccountId(3)));
+        var node = client.network.getNode(new AccountId(3));
+
+        node.getChannel();
+        assertThat(node.channels).hasSize(1);
+
+        client.setChannelsPerNode(3);
+        assertThat(client.getChannelsPerNode()).isEqualTo(3);
+        assertThat(node.channels).hasSize(3);
+
+        client.setChannelsPerNode(2);
+        assertThat(node.channels).hasSize(2);
+
+        client.close();
+    }
+
     @NullSource
     @ValueSource(longs = {-1, 0, 249})
     @ParameterizedTest(name = "Invalid maxBackoff {0}")
@@ -5,8 +5,14 @@ import org.bouncycastle.util.encoders.Hex;
 import org.junit.AfterClass;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.threeten.bp.Instant;
 
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -187,6 +193,35 @@ public class FileAppendTransactionTest {
         SnapshotMatcher.expect(allSignaturesToString(signatures)).toMatchSnapshot();
     }
 
+    @Test
+    void shouldChunkContentsFromPathAndChannel(@TempDir Path dir) throws Exception {
+        var nodeAccountIds = new ArrayList<AccountId>();
+        nodeAccountIds.add(AccountId.fromString("0.0.444"));
+        nodeAccountIds.add(AccountId.fromString("0.0.555"));
+
+        var path = dir.resolve("contents.txt");
+        Files.write(path, BIG_CONTENTS.getBytes(StandardCharsets.UTF_8));
+
+        var expected = spawnTestTransactionBigContents(nodeAccountIds).toString();
+
+        var fromPath = new FileAppendTransaction().setContents(path);
+        assertEquals(expected, freezeBigContents(fromPath, nodeAccountIds).toString());
+
+        var bytes = new ByteArrayInputStream(BIG_CONTENTS.getBytes(StandardCharsets.UTF_8));
+        var fromChannel = new FileAppendTransaction().setContents(Channels.newChannel(bytes));
+        assertEquals(expected, freezeBigContents(fromChannel, nodeAccountIds).toString());
+    }
+
+    private FileAppendTransaction freezeBigContents(FileAppendTransaction transaction, ArrayList<AccountId> nodeAccountIds) {
+        return transaction
+            .setNodeAccountIds(nodeAccountIds)
+            .setTransactionId(TransactionId.withValidStart(AccountId.fromString("0.0.5006"), validStart))
+            .setFileId(FileId.fromString("0.0.6006"))
+            .setMaxTransactionFee(Hbar.fromTinybars(100_000))
+            .freeze()
+            .sign(unusedPrivateKey);
+    }
+
     @Test
     void shouldBytes() throws Exception {
         var nodeAccountIds = new ArrayList<AccountId>();
@@ -0,0 +1,45 @@
+package com.hedera.hashgraph.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class LatencyHistogramTest {
+    @Test
+    void bucketsCoverEveryValueInOrder() {
+        for (long value : new long[]{0, 1, 31, 32, 33, 1000, 123_456_789L, 1L << 39, (1L << 40) - 1}) {
+            var bucket = LatencyHistogram.bucketOf(value);
+
+            assertThat(LatencyHistogram.lowestValueOf(bucket)).isLessThanOrEqualTo(value);
+            assertThat(LatencyHistogram.lowestValueOf(bucket + 1)).isGreaterThan(value);
+        }
+
+        assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.bucketOf(1L << 40));
+    }
+
+    @Test
+    void percentilesAreWithinASixteenth() {
+        var histogram = new LatencyHistogram();
+
+        for (long millis = 1; millis <= 100; millis++) {
+            histogram.record(millis * 1_000_000);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMax()).isEqualTo(100_000_000);
+        assertThat(histogram.getMean()).isEqualTo(50_500_000);
+        assertThat(histogram.getValueAtPercentile(50)).isBetween(50_000_000L, 50_000_000L + 50_000_000L / 16);
+        assertThat(histogram.getValueAtPercentile(99)).isBetween(99_000_000L, 100_000_000L);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100_000_000);
+    }
+
+    @Test
+    void emptyHistogram() {
+        var histogram = new LatencyHistogram();
+
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        assertThat(histogram.getMean()).isZero();
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> histogram.getValueAtPercentile(101));
+    }
+}
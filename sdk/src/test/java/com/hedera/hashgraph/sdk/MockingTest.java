@@ -7,6 +7,7 @@ import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import com.hedera.hashgraph.sdk.proto.Transaction;
 import com.hedera.hashgraph.sdk.proto.TransactionResponse;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
@@ -14,10 +15,22 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.threeten.bp.Duration;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class MockingTest {
 
@@ -176,6 +189,533 @@ public class MockingTest {
         server.close();
     }
 
+    @ParameterizedTest(name = "[{0}] Executable reports attempts, retries and backoff to the metrics listener")
+    @ValueSource(strings = {"sync", "async"})
+    void reportsMetrics(String sync) throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("reportsMetrics", service);
+        var metrics = new RequestMetrics();
+        var node = AccountId.fromString("1.1.1");
+
+        // the first transaction succeeds on its second attempt, the second runs out of attempts
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+
+        server.client
+            .setMaxAttempts(2)
+            .setMinBackoff(Duration.ofMillis(10))
+            .setMetricsListener(metrics);
+
+        if (sync.equals("sync")) {
+            new AccountCreateTransaction().execute(server.client);
+            Assertions.assertThrows(MaxAttemptsExceededException.class, () -> {
+                new AccountCreateTransaction().execute(server.client);
+            });
+        } else {
+            new AccountCreateTransaction().executeAsync(server.client).get();
+            var error = Assertions.assertThrows(ExecutionException.class, () -> {
+                new AccountCreateTransaction().executeAsync(server.client).get();
+            });
+            Assertions.assertTrue(error.getCause() instanceof MaxAttemptsExceededException);
+        }
+
+        Assertions.assertEquals(4, Objects.requireNonNull(metrics.getNodeLatency(node)).getCount());
+        Assertions.assertEquals(4, Objects.requireNonNull(metrics.getMethodLatency("proto.CryptoService/createAccount")).getCount());
+        Assertions.assertEquals(3, metrics.getPrecheckStatusCount(com.hedera.hashgraph.sdk.Status.BUSY));
+        Assertions.assertEquals(1, metrics.getPrecheckStatusCount(com.hedera.hashgraph.sdk.Status.OK));
+        Assertions.assertEquals(3, metrics.getRetries());
+        Assertions.assertEquals(1, metrics.getMaxAttemptsExceeded());
+        Assertions.assertTrue(metrics.getBackoffMillis() >= 10 + 10 + 20);
+        Assertions.assertEquals(0, metrics.getInFlight(node));
+
+        server.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Executable reports node backoff, channel connects and built requests")
+    @ValueSource(strings = {"sync", "async"})
+    void reportsRequestLifecycle(String sync) throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("reportsRequestLifecycle", service);
+        var attempts = Collections.synchronizedList(new ArrayList<String>());
+        var channelConnects = Collections.synchronizedList(new ArrayList<Boolean>());
+        var nodeBackoffs = new AtomicInteger();
+        var builtRequests = new AtomicInteger();
+
+        server.client.setMetricsListener(new MetricsListener() {
+            @Override
+            public void onAttempt(
+                AccountId nodeAccountId,
+                String method,
+                int attempt,
+                long latencyNanos,
+                @Nullable com.hedera.hashgraph.sdk.Status status,
+                @Nullable String retryReason
+            ) {
+                attempts.add(attempt + " " + status + " " + retryReason);
+            }
+
+            @Override
+            public void onNodeBackoff(AccountId nodeAccountId, long backoffMillis) {
+                nodeBackoffs.incrementAndGet();
+            }
+
+            @Override
+            public void onChannelConnect(AccountId nodeAccountId, long waitNanos, boolean connected) {
+                channelConnects.add(connected);
+            }
+
+            @Override
+            public void onBuildRequest(AccountId nodeAccountId, String method, long durationNanos) {
+                builtRequests.incrementAndGet();
+            }
+        });
+
+        service.buffer
+            .enqueueResponse(TestResponse.error(Status.UNAVAILABLE.asRuntimeException()))
+            .enqueueResponse(TestResponse.transactionOk());
+
+        if (sync.equals("sync")) {
+            new AccountCreateTransaction().execute(server.client);
+        } else {
+            new AccountCreateTransaction().executeAsync(server.client).get();
+        }
+
+        Assertions.assertEquals(List.of("1 null UNAVAILABLE", "2 OK null"), attempts);
+        Assertions.assertEquals(List.of(true), channelConnects);
+        Assertions.assertEquals(1, nodeBackoffs.get());
+        Assertions.assertEquals(2, builtRequests.get());
+
+        server.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Executable retries a query to a silent node until the request runs out of time")
+    @ValueSource(strings = {"sync", "async"})
+    void timesOutSilentNode(String sync) throws Exception {
+        var requests = new AtomicInteger();
+        var silentService = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void cryptoGetBalance(Query request, StreamObserver<Response> responseObserver) {
+                // never answer
+                requests.incrementAndGet();
+            }
+        };
+        var server = new TestServer("timesOutSilentNode", silentService);
+
+        server.client
+            .setGrpcDeadline(Duration.ofMillis(100))
+            .setRequestTimeout(Duration.ofSeconds(1));
+
+        var startAt = System.nanoTime();
+        var query = new AccountBalanceQuery().setAccountId(new AccountId(10));
+
+        if (sync.equals("sync")) {
+            Assertions.assertThrows(TimeoutException.class, () -> {
+                query.execute(server.client);
+            });
+        } else {
+            var error = Assertions.assertThrows(ExecutionException.class, () -> {
+                query.executeAsync(server.client).get();
+            });
+            Assertions.assertTrue(error.getCause() instanceof TimeoutException);
+        }
+
+        // each attempt gave up on the node after its own deadline, and the request gave up after its timeout
+        Assertions.assertTrue(requests.get() >= 2);
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startAt) < 2000);
+
+        server.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Executable doesn't send a transaction again after a node times out on it")
+    @ValueSource(strings = {"sync", "async"})
+    void timesOutSilentNodeTransaction(String sync) throws Exception {
+        var requests = new AtomicInteger();
+        var silentService = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void createAccount(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                // never answer
+                requests.incrementAndGet();
+            }
+        };
+        var server = new TestServer("timesOutSilentNodeTransaction", silentService);
+
+        server.client
+            .setGrpcDeadline(Duration.ofMillis(100))
+            .setRequestTimeout(Duration.ofSeconds(1));
+
+        var transaction = new AccountCreateTransaction();
+        Throwable error;
+
+        if (sync.equals("sync")) {
+            error = Assertions.assertThrows(TransactionTimeoutException.class, () -> {
+                transaction.execute(server.client);
+            });
+        } else {
+            error = Assertions.assertThrows(ExecutionException.class, () -> {
+                transaction.executeAsync(server.client).get();
+            }).getCause();
+        }
+
+        // the node may have accepted the transaction, so the caller is told which one to ask for the receipt of
+        Assertions.assertTrue(error instanceof TransactionTimeoutException);
+        Assertions.assertEquals(transaction.getTransactionId(), ((TransactionTimeoutException) error).transactionId);
+        Assertions.assertEquals(1, requests.get());
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Cancelling the future of a request cancels its call in flight")
+    void cancelsCallInFlight() throws Exception {
+        var received = new CountDownLatch(1);
+        var cancelled = new CountDownLatch(1);
+        var silentService = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void createAccount(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                // never answer, but notice the client giving up
+                ((ServerCallStreamObserver<TransactionResponse>) responseObserver).setOnCancelHandler(cancelled::countDown);
+                received.countDown();
+            }
+        };
+        var server = new TestServer("cancelsCallInFlight", silentService);
+        var node = server.client.network.getNode(AccountId.fromString("1.1.1"));
+
+        var future = new AccountCreateTransaction().executeAsync(server.client);
+
+        Assertions.assertTrue(received.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, node.getOutstandingRequests());
+
+        Assertions.assertTrue(future.cancel(true));
+        Assertions.assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+
+        // the call is closed after the server hears of the cancellation
+        for (int i = 0; i < 100 && node.getOutstandingRequests() > 0; i++) {
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(0, node.getOutstandingRequests());
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Cancelling the future of a request stops its retries")
+    void cancelsRetries() throws Exception {
+        var service = new TestCryptoService();
+        var server = new TestServer("cancelsRetries", service);
+        var backingOff = new CountDownLatch(1);
+
+        service.buffer.enqueueResponse(TestResponse.transaction(com.hedera.hashgraph.sdk.Status.BUSY));
+        service.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        server.client
+            .setMinBackoff(Duration.ofMillis(200))
+            .setMetricsListener(new MetricsListener() {
+                @Override
+                public void onBackoff(AccountId nodeAccountId, String method, long delayMillis) {
+                    backingOff.countDown();
+                }
+            });
+
+        var future = new AccountCreateTransaction().executeAsync(server.client);
+
+        Assertions.assertTrue(backingOff.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(future.cancel(true));
+
+        // the retry would have been sent by now
+        Thread.sleep(1000);
+
+        Assertions.assertEquals(1, service.buffer.transactionRequestsReceived.size());
+        Assertions.assertThrows(CancellationException.class, future::get);
+
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Client connects to every node up front when warmed up")
+    void warmUpConnectsEveryNode() throws Exception {
+        var firstService = new TestCryptoService();
+        var secondService = new TestCryptoService();
+        var firstServer = new TestServer("warmUpFirst", firstService);
+        var secondServer = new TestServer("warmUpSecond", secondService);
+
+        var network = new HashMap<String, AccountId>();
+        network.put("in-process:warmUpFirst", new AccountId(3));
+        network.put("in-process:warmUpSecond", new AccountId(4));
+
+        var client = Client.forNetwork(network);
+
+        Assertions.assertSame(client, client.warmUp());
+
+        Assertions.assertTrue(client.network.getNode(new AccountId(3)).hasConnected());
+        Assertions.assertTrue(client.network.getNode(new AccountId(4)).hasConnected());
+        Assertions.assertEquals(0, firstService.buffer.transactionRequestsReceived.size());
+        Assertions.assertEquals(0, secondService.buffer.transactionRequestsReceived.size());
+
+        client.close();
+        firstServer.close();
+        secondServer.close();
+    }
+
+    @Test
+    @DisplayName("Requests waiting for a node to connect share one wait")
+    void channelReadinessIsShared() throws Exception {
+        // no server listens on this name, so the channel never becomes ready
+        var client = Client.forNetwork(Collections.singletonMap("in-process:channelReadinessIsShared", new AccountId(3)));
+        var node = client.network.getNode(new AccountId(3));
+
+        var first = node.channelFailedToConnectAsync();
+        var second = node.channelFailedToConnectAsync();
+
+        Assertions.assertSame(first, second);
+        Assertions.assertFalse(node.hasConnected());
+
+        // shutting down the channel ends the wait, which then counts as a failure to connect
+        client.close();
+
+        Assertions.assertTrue(first.get(5, TimeUnit.SECONDS));
+    }
+
+    @ParameterizedTest(name = "[{0}] Executable waits for a node to connect only within the request timeout")
+    @ValueSource(strings = {"sync", "async"})
+    void connectWaitIsBoundedByTheTimeout(String sync) throws Exception {
+        // no server listens on this name, so the channel never becomes ready
+        var client = Client.forNetwork(Collections.singletonMap("in-process:connectWaitIsBounded", new AccountId(3)))
+            .setRequestTimeout(Duration.ofSeconds(1));
+        var query = new AccountBalanceQuery().setAccountId(new AccountId(10));
+
+        var startAt = System.nanoTime();
+
+        if (sync.equals("sync")) {
+            Assertions.assertThrows(TimeoutException.class, () -> {
+                query.execute(client);
+            });
+        } else {
+            var error = Assertions.assertThrows(ExecutionException.class, () -> {
+                query.executeAsync(client).get();
+            });
+            Assertions.assertTrue(error.getCause() instanceof TimeoutException);
+        }
+
+        // well short of the 10 seconds a channel is given to connect
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startAt) < 5000);
+
+        client.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Executable fails over to a healthy node while the first node backs off")
+    @ValueSource(strings = {"sync", "async"})
+    void nodeFailover(String sync) throws Exception {
+        var backingOffService = new TestCryptoService();
+        var healthyService = new TestCryptoService();
+        var backingOffServer = new TestServer("nodeFailoverBackingOff", backingOffService);
+        var healthyServer = new TestServer("nodeFailoverHealthy", healthyService);
+
+        var network = new HashMap<String, AccountId>();
+        network.put("in-process:nodeFailoverBackingOff", new AccountId(3));
+        network.put("in-process:nodeFailoverHealthy", new AccountId(4));
+
+        var client = Client.forNetwork(network)
+            .setOperator(AccountId.fromString("2.2.2"), PrivateKey.generate())
+            .setNodeFailover(true);
+
+        // Put the first node into a backoff of a couple of seconds
+        var backingOffNode = client.network.getNode(new AccountId(3));
+        for (var i = 0; i < 4; i++) {
+            backingOffNode.increaseDelay();
+        }
+
+        healthyService.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        var transaction = new AccountCreateTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)));
+
+        if (sync.equals("sync")) {
+            transaction.execute(client);
+        } else {
+            transaction.executeAsync(client).get();
+        }
+
+        Assertions.assertEquals(0, backingOffService.buffer.transactionRequestsReceived.size());
+        Assertions.assertEquals(1, healthyService.buffer.transactionRequestsReceived.size());
+
+        client.close();
+        backingOffServer.close();
+        healthyServer.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Transaction is hedged to the next node when the first node is slow to answer")
+    @ValueSource(strings = {"sync", "async"})
+    void hedgesToNextNode(String sync) throws Exception {
+        var silentRequests = Collections.synchronizedList(new ArrayList<Transaction>());
+        var silentService = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void createAccount(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                // never answer
+                silentRequests.add(request);
+            }
+        };
+        var healthyService = new TestCryptoService();
+        var silentServer = new TestServer("hedgingSilent", silentService);
+        var healthyServer = new TestServer("hedgingHealthy", healthyService);
+
+        var network = new HashMap<String, AccountId>();
+        network.put("in-process:hedgingSilent", new AccountId(3));
+        network.put("in-process:hedgingHealthy", new AccountId(4));
+
+        var client = Client.forNetwork(network)
+            .setOperator(AccountId.fromString("2.2.2"), PrivateKey.generate());
+
+        // Give the silent node a latency history of 5 ms
+        var silentNode = client.network.getNode(new AccountId(3));
+        for (var i = 0; i < 10; i++) {
+            silentNode.recordLatency(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        healthyService.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        var transaction = new AccountCreateTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)))
+            .setHedgingPercentile(95);
+
+        var response = sync.equals("sync") ?
+            transaction.execute(client) :
+            transaction.executeAsync(client).get();
+
+        Assertions.assertEquals(new AccountId(4), response.nodeId);
+        Assertions.assertEquals(1, healthyService.buffer.transactionRequestsReceived.size());
+
+        client.close();
+        silentServer.close();
+        healthyServer.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Hedged transaction isn't retried when the first node is busy and the hedge accepts it")
+    @ValueSource(strings = {"sync", "async"})
+    void hedgeWinsOverBusyNode(String sync) throws Exception {
+        var busyRequests = new AtomicInteger();
+        var busyObserver = new AtomicReference<StreamObserver<TransactionResponse>>();
+        var busyService = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void createAccount(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                // answered once the hedge arrives
+                busyRequests.incrementAndGet();
+                busyObserver.set(responseObserver);
+            }
+        };
+        var hedgeRequests = new AtomicInteger();
+        var hedgeService = new CryptoServiceGrpc.CryptoServiceImplBase() {
+            @Override
+            public void createAccount(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+                // the first node answers BUSY while the hedge is still in flight, then the hedge accepts the
+                // transaction; resubmitting it would be a duplicate
+                var first = hedgeRequests.incrementAndGet() == 1;
+
+                if (first) {
+                    var busy = Objects.requireNonNull(busyObserver.get());
+                    busy.onNext(TestResponse.buildTransactionResponse(com.hedera.hashgraph.sdk.Status.BUSY, new Hbar(0)));
+                    busy.onCompleted();
+                }
+
+                var status = first ?
+                    com.hedera.hashgraph.sdk.Status.OK :
+                    com.hedera.hashgraph.sdk.Status.DUPLICATE_TRANSACTION;
+
+                responseObserver.onNext(TestResponse.buildTransactionResponse(status, new Hbar(0)));
+                responseObserver.onCompleted();
+            }
+        };
+        var busyServer = new TestServer("hedgeBusy", busyService);
+        var hedgeServer = new TestServer("hedgeAccepts", hedgeService);
+
+        var network = new HashMap<String, AccountId>();
+        network.put("in-process:hedgeBusy", new AccountId(3));
+        network.put("in-process:hedgeAccepts", new AccountId(4));
+
+        var client = Client.forNetwork(network)
+            .setOperator(AccountId.fromString("2.2.2"), PrivateKey.generate());
+
+        // Give the busy node a latency history of 5 ms
+        var busyNode = client.network.getNode(new AccountId(3));
+        for (var i = 0; i < 10; i++) {
+            busyNode.recordLatency(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        var transaction = new AccountCreateTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)))
+            .setHedgingPercentile(95);
+
+        var response = sync.equals("sync") ?
+            transaction.execute(client) :
+            transaction.executeAsync(client).get();
+
+        Assertions.assertEquals(new AccountId(4), response.nodeId);
+        Assertions.assertEquals(1, busyRequests.get());
+        Assertions.assertEquals(1, hedgeRequests.get());
+
+        client.close();
+        busyServer.close();
+        hedgeServer.close();
+    }
+
+    @ParameterizedTest(name = "[{0}] Transaction is only signed for the nodes it is sent to")
+    @ValueSource(strings = {"sync", "async"})
+    void signsOnlyForNodesSentTo(String sync) throws Exception {
+        var backingOffService = new TestCryptoService();
+        var otherService = new TestCryptoService();
+        var backingOffServer = new TestServer("signsOnlyBackingOff", backingOffService);
+        var otherServer = new TestServer("signsOnlyOther", otherService);
+
+        var network = new HashMap<String, AccountId>();
+        network.put("in-process:signsOnlyBackingOff", new AccountId(3));
+        network.put("in-process:signsOnlyOther", new AccountId(4));
+
+        var client = Client.forNetwork(network)
+            .setOperator(AccountId.fromString("2.2.2"), PrivateKey.generate());
+
+        // The first node is briefly backing off, and answers quickly enough that it's never hedged
+        var backingOffNode = client.network.getNode(new AccountId(3));
+        backingOffNode.increaseDelay();
+        for (var i = 0; i < 10; i++) {
+            backingOffNode.recordLatency(TimeUnit.SECONDS.toNanos(10));
+        }
+
+        backingOffService.buffer.enqueueResponse(TestResponse.transactionOk());
+
+        var key = PrivateKey.generate();
+        var signatures = new AtomicInteger();
+        var transaction = new AccountCreateTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)))
+            .setHedgingPercentile(50)
+            .freezeWith(client)
+            .signWith(key.getPublicKey(), message -> {
+                signatures.incrementAndGet();
+                return key.sign(message);
+            });
+
+        var response = sync.equals("sync") ?
+            transaction.execute(client) :
+            transaction.executeAsync(client).get();
+
+        Assertions.assertEquals(new AccountId(3), response.nodeId);
+        Assertions.assertEquals(1, signatures.get());
+        Assertions.assertEquals(0, otherService.buffer.transactionRequestsReceived.size());
+
+        client.close();
+        backingOffServer.close();
+        otherServer.close();
+    }
+
+    @ParameterizedTest(name = "Invalid hedging percentile {0}")
+    @ValueSource(doubles = {-1, 0, 100.5})
+    void hedgingPercentileInvalid(double percentile) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new AccountCreateTransaction().setHedgingPercentile(percentile);
+        });
+    }
+
     @Test
     @DisplayName("Client.setDefaultMaxTransactionFee() functions correctly")
     void defaultMaxTransactionFeeTest() throws Exception {
@@ -0,0 +1,135 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NodeSelectionPolicyTest {
+    final AccountId slowNodeAccountId = new AccountId(3);
+    final AccountId fastNodeAccountId = new AccountId(4);
+
+    ExecutorService executor;
+    Network network;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+
+        var nodes = new HashMap<String, AccountId>();
+        nodes.put("127.0.0.1:50211", slowNodeAccountId);
+        nodes.put("127.0.0.1:50212", fastNodeAccountId);
+
+        network = Network.forNetwork(executor, nodes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void leastOutstandingRequestsPrefersIdleNode() throws InterruptedException {
+        network.setSelectionPolicy(NodeSelectionPolicy.LEAST_OUTSTANDING_REQUESTS);
+
+        network.getNode(slowNodeAccountId).incrementOutstandingRequests();
+
+        var nodes = network.getNumberOfMostHealthyNodes(2);
+
+        assertThat(nodes).hasSize(2);
+        assertThat(nodes.get(0).getAccountId()).isEqualTo(fastNodeAccountId);
+        assertThat(nodes.get(1).getAccountId()).isEqualTo(slowNodeAccountId);
+    }
+
+    @Test
+    void leastOutstandingRequestsPrefersHealthyNode() throws InterruptedException {
+        network.setSelectionPolicy(NodeSelectionPolicy.LEAST_OUTSTANDING_REQUESTS);
+
+        network.getNode(slowNodeAccountId).incrementOutstandingRequests();
+        network.getNode(fastNodeAccountId).increaseDelay();
+
+        var nodes = network.getNumberOfMostHealthyNodes(1);
+
+        assertThat(nodes).hasSize(1);
+        assertThat(nodes.get(0).getAccountId()).isEqualTo(slowNodeAccountId);
+    }
+
+    @Test
+    void deadNodesAreRemoved() throws InterruptedException {
+        network.setMaxNodeAttempts(1);
+
+        network.getNode(slowNodeAccountId).increaseDelay();
+
+        var nodes = network.getNumberOfMostHealthyNodes(2);
+
+        assertThat(nodes).hasSize(1);
+        assertThat(nodes.get(0).getAccountId()).isEqualTo(fastNodeAccountId);
+        assertThat(network.getNetwork()).doesNotContainValue(slowNodeAccountId);
+    }
+
+    @Test
+    void latencyWeightedPrefersFastNode() throws InterruptedException {
+        network.setSelectionPolicy(NodeSelectionPolicy.LATENCY_WEIGHTED);
+
+        network.getNode(slowNodeAccountId).recordLatency(1_000_000_000_000L);
+        network.getNode(fastNodeAccountId).recordLatency(1_000_000L);
+
+        @Var var fastNodeFirst = 0;
+        for (int i = 0; i < 100; i++) {
+            if (network.getNumberOfMostHealthyNodes(1).get(0).getAccountId().equals(fastNodeAccountId)) {
+                fastNodeFirst++;
+            }
+        }
+
+        // the slow node's weight is a millionth of the fast node's
+        assertThat(fastNodeFirst).isGreaterThanOrEqualTo(99);
+    }
+
+    @Test
+    void customPolicyRanksTheHealthyNodes() throws InterruptedException {
+        var ranked = new ArrayList<Integer>();
+
+        // prefers the node which has been used the most, the opposite of every built-in policy
+        network.setSelectionPolicy(new NodeSelectionPolicy() {
+            @Override
+            public <N extends NodeStats> List<N> rank(List<N> nodes) {
+                ranked.add(nodes.size());
+
+                var order = new ArrayList<N>(nodes);
+                order.sort((a, b) -> Long.compare(b.getUseCount(), a.getUseCount()));
+                return order;
+            }
+        });
+
+        network.getNode(slowNodeAccountId).getChannel();
+        network.getNode(fastNodeAccountId).increaseDelay();
+
+        var nodes = network.getNumberOfMostHealthyNodes(1);
+
+        assertThat(nodes).extracting(Node::getAccountId).containsExactly(slowNodeAccountId);
+        // the node backing off was only ranked once a request needed it
+        assertThat(ranked).containsExactly(1);
+
+        var allNodes = network.getNumberOfMostHealthyNodes(2);
+
+        assertThat(allNodes).extracting(Node::getAccountId).containsExactly(slowNodeAccountId, fastNodeAccountId);
+        assertThat(ranked).containsExactly(1, 1, 1);
+    }
+
+    @Test
+    void powerOfTwoChoicesReturnsEveryNodeOnce() throws InterruptedException {
+        network.setSelectionPolicy(NodeSelectionPolicy.POWER_OF_TWO_CHOICES);
+
+        var nodes = network.getNumberOfMostHealthyNodes(2);
+
+        assertThat(nodes).extracting(Node::getAccountId).containsExactlyInAnyOrder(slowNodeAccountId, fastNodeAccountId);
+    }
+}
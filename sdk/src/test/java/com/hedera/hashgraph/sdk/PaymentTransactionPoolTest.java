@@ -0,0 +1,103 @@
+package com.hedera.hashgraph.sdk;
+
+import java8.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PaymentTransactionPoolTest {
+    final AccountId nodeId = new AccountId(3);
+    final Hbar amount = Hbar.fromTinybars(100);
+
+    @Test
+    void paymentsAreHandedOutOnce() {
+        // refills run inline so the pool is full as soon as take() returns
+        var pool = new PaymentTransactionPool(Runnable::run, 3);
+        var operator = newOperator(new AccountId(1001));
+
+        var transactionIds = new HashSet<TransactionId>();
+        for (int i = 0; i < 10; i++) {
+            var payment = pool.take(nodeId, operator, amount);
+
+            assertThat(payment.transaction.getSignedTransactionBytes().isEmpty()).isFalse();
+            assertThat(transactionIds.add(payment.transactionId)).isTrue();
+        }
+    }
+
+    @Test
+    void paymentsAreNotHandedOutToAnotherOperator() {
+        var pool = new PaymentTransactionPool(Runnable::run, 3);
+
+        pool.take(nodeId, newOperator(new AccountId(1001)), amount);
+        var payment = pool.take(nodeId, newOperator(new AccountId(1002)), amount);
+
+        assertThat(payment.transactionId.accountId).isEqualTo(new AccountId(1002));
+    }
+
+    @Test
+    void refillSignsInOneBatchWithoutWaitingOnTheSigner() {
+        var pool = new PaymentTransactionPool(Runnable::run, 3);
+        var privateKey = PrivateKey.generate();
+        var batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+        var held = new ArrayList<Runnable>();
+
+        var operator = new Client.Operator(new AccountId(1001), privateKey.getPublicKey(), (List<byte[]> messages) -> {
+            batchSizes.add(messages.size());
+
+            var signatures = new CompletableFuture<List<byte[]>>();
+            Runnable sign = () -> {
+                var signed = new ArrayList<byte[]>(messages.size());
+                for (var message : messages) {
+                    signed.add(privateKey.sign(message));
+                }
+                signatures.complete(signed);
+            };
+
+            // the first refill is held back until the test releases it
+            if (batchSizes.size() == 2) {
+                held.add(sign);
+            } else {
+                sign.run();
+            }
+
+            return signatures;
+        });
+
+        // the pool is empty, so the payment is built on the spot; the refill behind it doesn't hold take() up
+        pool.take(nodeId, operator, amount);
+        assertThat(batchSizes).containsExactly(1, 3);
+
+        held.forEach(Runnable::run);
+
+        // every payment now comes from the pool, and each take() only tops it back up by one
+        for (int i = 0; i < 3; i++) {
+            pool.take(nodeId, operator, amount);
+        }
+
+        assertThat(batchSizes).containsExactly(1, 3, 1, 1, 1);
+    }
+
+    @Test
+    void clientPoolSizeCanBeChanged() throws TimeoutException {
+        var client = Client.forTestnet();
+
+        assertThat(client.getPaymentTransactionPool()).isNull();
+        assertThat(client.setPaymentTransactionPoolSize(4).getPaymentTransactionPoolSize()).isEqualTo(4);
+        assertThat(client.setPaymentTransactionPoolSize(0).getPaymentTransactionPool()).isNull();
+        assertThatThrownBy(() -> client.setPaymentTransactionPoolSize(-1)).isInstanceOf(IllegalArgumentException.class);
+
+        client.close();
+    }
+
+    private static Client.Operator newOperator(AccountId accountId) {
+        var privateKey = PrivateKey.generate();
+        return new Client.Operator(accountId, privateKey.getPublicKey(), privateKey::sign);
+    }
+}
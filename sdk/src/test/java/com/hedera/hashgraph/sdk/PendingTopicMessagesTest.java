@@ -0,0 +1,62 @@
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import org.junit.jupiter.api.Test;
+import org.threeten.bp.Duration;
+
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PendingTopicMessagesTest {
+    @Test
+    void messageIsEmittedOnceEveryChunkArrived() {
+        var pending = new PendingTopicMessages(10, Duration.ofMinutes(1));
+
+        assertThat(pending.add(chunk(1, 1, 2))).isNull();
+        assertThat(pending.size()).isEqualTo(1);
+
+        var message = Objects.requireNonNull(pending.add(chunk(1, 2, 2)));
+        assertThat(message.chunks).hasSize(2);
+        assertThat(pending.size()).isZero();
+    }
+
+    @Test
+    void oldestMessageIsDroppedWhenFull() {
+        var pending = new PendingTopicMessages(1, Duration.ofMinutes(1));
+
+        assertThat(pending.add(chunk(1, 1, 2))).isNull();
+        assertThat(pending.add(chunk(2, 1, 2))).isNull();
+        assertThat(pending.size()).isEqualTo(1);
+
+        // the first chunk of message 1 was dropped, so this starts it over
+        assertThat(pending.add(chunk(1, 2, 2))).isNull();
+        assertThat(pending.add(chunk(2, 2, 2))).isNull();
+    }
+
+    @Test
+    void expiredMessageIsDropped() {
+        var pending = new PendingTopicMessages(10, Duration.ZERO);
+
+        assertThat(pending.add(chunk(1, 1, 2))).isNull();
+        assertThat(pending.add(chunk(2, 1, 2))).isNull();
+
+        assertThat(pending.size()).isEqualTo(1);
+    }
+
+    private static ConsensusTopicResponse chunk(long payer, int number, int total) {
+        return ConsensusTopicResponse.newBuilder()
+            .setSequenceNumber(number)
+            .setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                .setInitialTransactionID(TransactionID.newBuilder()
+                    .setAccountID(AccountID.newBuilder().setAccountNum(payer))
+                    .setTransactionValidStart(Timestamp.newBuilder().setSeconds(1554158542)))
+                .setNumber(number)
+                .setTotal(total))
+            .build();
+    }
+}
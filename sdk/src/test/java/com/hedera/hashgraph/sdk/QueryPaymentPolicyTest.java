@@ -0,0 +1,230 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.FileGetContentsResponse;
+import com.hedera.hashgraph.sdk.proto.FileServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.ResponseType;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class QueryPaymentPolicyTest {
+    FileService service;
+    TestServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new FileService();
+        server = new TestServer("queryPaymentPolicy", service);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void askForCostAsksEveryTime() throws Exception {
+        getContents(new FileId(30));
+        getContents(new FileId(30));
+
+        assertThat(service.costQueries.get()).isEqualTo(2);
+        assertThat(service.lastPayment.get()).isEqualTo(FileService.COST);
+    }
+
+    @Test
+    void cacheCostAsksOncePerShape() throws Exception {
+        server.client.setQueryPaymentPolicy(QueryPaymentPolicy.CACHE_COST);
+
+        getContents(new FileId(30));
+        getContents(new FileId(30));
+
+        assertThat(service.costQueries.get()).isEqualTo(1);
+        assertThat(service.lastPayment.get()).isEqualTo(FileService.COST);
+
+        getContents(new FileId(31));
+
+        assertThat(service.costQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void payMaxNeverAsks() throws Exception {
+        server.client.setQueryPaymentPolicy(QueryPaymentPolicy.PAY_MAX);
+
+        new FileContentsQuery()
+            .setFileId(new FileId(30))
+            .setMaxQueryPayment(Hbar.fromTinybars(500))
+            .execute(server.client);
+
+        assertThat(service.costQueries.get()).isZero();
+        assertThat(service.lastPayment.get()).isEqualTo(500);
+    }
+
+    @Test
+    void cachedCostIsReplacedWhenTooLow() throws Exception {
+        server.client.setQueryPaymentPolicy(QueryPaymentPolicy.CACHE_COST);
+
+        getContents(new FileId(30));
+
+        // the query is sent again with its real cost rather than failing
+        service.cost = 2 * FileService.COST;
+        getContents(new FileId(30));
+
+        assertThat(service.costQueries.get()).isEqualTo(2);
+        assertThat(service.lastPayment.get()).isEqualTo(2 * FileService.COST);
+
+        getContents(new FileId(30));
+
+        assertThat(service.costQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void cachedCostIsReplacedWhenTooLowAsync() throws Exception {
+        server.client.setQueryPaymentPolicy(QueryPaymentPolicy.CACHE_COST);
+
+        getContents(new FileId(30));
+
+        service.cost = 2 * FileService.COST;
+        new FileContentsQuery().setFileId(new FileId(30)).executeAsync(server.client).get();
+
+        assertThat(service.costQueries.get()).isEqualTo(2);
+        assertThat(service.lastPayment.get()).isEqualTo(2 * FileService.COST);
+    }
+
+    @Test
+    void cachedCostIsOnlyReplacedOnce() throws Exception {
+        server.client.setQueryPaymentPolicy(QueryPaymentPolicy.CACHE_COST);
+
+        getContents(new FileId(30));
+
+        service.answerStatus = ResponseCodeEnum.INSUFFICIENT_TX_FEE;
+        assertThatThrownBy(() -> getContents(new FileId(30))).isInstanceOf(PrecheckStatusException.class);
+        assertThat(service.costQueries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void entityQueriesAreCachedPerEntity() {
+        assertThat(new AccountInfoQuery().setAccountId(new AccountId(30)).getCostCacheKey())
+            .isNotEqualTo(new AccountInfoQuery().setAccountId(new AccountId(31)).getCostCacheKey());
+        assertThat(new TokenInfoQuery().setTokenId(new TokenId(30)).getCostCacheKey())
+            .isEqualTo(new TokenInfoQuery().setTokenId(new TokenId(30)).getCostCacheKey())
+            .isNotEqualTo(new TokenInfoQuery().setTokenId(new TokenId(31)).getCostCacheKey());
+
+        // their cost changes from one query to the next
+        assertThat(new AccountRecordsQuery().setAccountId(new AccountId(30)).getCostCacheKey()).isNull();
+        assertThat(new TransactionRecordQuery().getCostCacheKey()).isNull();
+    }
+
+    @Test
+    void fullCostCacheEvictsOneCost() {
+        var cache = new QueryCostCache();
+
+        for (int i = 0; i < 1024; i++) {
+            cache.put(Integer.toString(i), Hbar.fromTinybars(i));
+        }
+
+        cache.put("new", Hbar.fromTinybars(1));
+
+        @Var var kept = 0;
+        for (int i = 0; i < 1024; i++) {
+            kept += cache.get(Integer.toString(i)) != null ? 1 : 0;
+        }
+
+        assertThat(cache.get("new")).isEqualTo(Hbar.fromTinybars(1));
+        assertThat(kept).isEqualTo(1023);
+    }
+
+    @Test
+    void pooledPaymentsAreUsedOnce() throws Exception {
+        server.client.setQueryPaymentPolicy(QueryPaymentPolicy.CACHE_COST).setPaymentTransactionPoolSize(2);
+
+        for (int i = 0; i < 5; i++) {
+            getContents(new FileId(30));
+        }
+
+        assertThat(service.costQueries.get()).isEqualTo(1);
+        assertThat(service.lastPayment.get()).isEqualTo(FileService.COST);
+        assertThat(service.paymentTransactionIds).hasSize(5);
+    }
+
+    private void getContents(FileId fileId) throws Exception {
+        new FileContentsQuery().setFileId(fileId).execute(server.client);
+    }
+
+    private static class FileService extends FileServiceGrpc.FileServiceImplBase {
+        static final long COST = 100;
+
+        final AtomicInteger costQueries = new AtomicInteger();
+        final AtomicLong lastPayment = new AtomicLong();
+        final Set<TransactionID> paymentTransactionIds = ConcurrentHashMap.newKeySet();
+
+        volatile ResponseCodeEnum answerStatus = ResponseCodeEnum.OK;
+        volatile long cost = COST;
+
+        @Override
+        public void getFileContent(Query request, StreamObserver<Response> responseObserver) {
+            var header = request.getFileGetContents().getHeader();
+            var responseHeader = ResponseHeader.newBuilder();
+
+            if (header.getResponseType() == ResponseType.COST_ANSWER) {
+                costQueries.incrementAndGet();
+                responseHeader.setNodeTransactionPrecheckCode(ResponseCodeEnum.OK).setCost(cost);
+            } else {
+                var payment = getPaymentAmount(header.getPayment());
+                lastPayment.set(payment);
+                paymentTransactionIds.add(getPaymentTransactionId(header.getPayment()));
+                responseHeader.setNodeTransactionPrecheckCode(
+                    payment < cost ? ResponseCodeEnum.INSUFFICIENT_TX_FEE : answerStatus);
+            }
+
+            responseObserver.onNext(Response.newBuilder()
+                .setFileGetContents(FileGetContentsResponse.newBuilder()
+                    .setHeader(responseHeader)
+                    .setFileContents(FileGetContentsResponse.FileContents.newBuilder()
+                        .setContents(ByteString.copyFromUtf8("contents"))))
+                .build());
+            responseObserver.onCompleted();
+        }
+
+        private static long getPaymentAmount(com.hedera.hashgraph.sdk.proto.Transaction payment) {
+            var body = getPaymentBody(payment);
+
+            // the node is credited the payment, the operator is debited it
+            return body.getCryptoTransfer().getTransfers().getAccountAmountsList().stream()
+                .mapToLong(accountAmount -> accountAmount.getAmount())
+                .max()
+                .getAsLong();
+        }
+
+        private static TransactionID getPaymentTransactionId(com.hedera.hashgraph.sdk.proto.Transaction payment) {
+            return getPaymentBody(payment).getTransactionID();
+        }
+
+        private static TransactionBody getPaymentBody(com.hedera.hashgraph.sdk.proto.Transaction payment) {
+            try {
+                return TransactionBody.parseFrom(
+                    SignedTransaction.parseFrom(payment.getSignedTransactionBytes()).getBodyBytes());
+            } catch (InvalidProtocolBufferException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
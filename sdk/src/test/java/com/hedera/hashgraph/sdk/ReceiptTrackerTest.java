@@ -0,0 +1,118 @@
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.CryptoServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.threeten.bp.Duration;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ReceiptTrackerTest {
+    final AccountId nodeId = AccountId.fromString("1.1.1");
+
+    ReceiptService service;
+    TestServer server;
+    ReceiptTracker tracker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ReceiptService();
+        server = new TestServer("receiptTracker", service);
+        tracker = new ReceiptTracker(server.client, Duration.ZERO, Duration.ofMillis(10), 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void waitersOnTheSameTransactionSharePolls() throws Exception {
+        var transactionId = TransactionId.generate(new AccountId(1001));
+        service.pollsUntilConsensus = 3;
+
+        var first = tracker.track(transactionId, nodeId);
+        var second = tracker.track(transactionId, nodeId);
+
+        assertThat(first.get(5, TimeUnit.SECONDS).status).isEqualTo(Status.SUCCESS);
+        assertThat(second.get(5, TimeUnit.SECONDS).status).isEqualTo(Status.SUCCESS);
+
+        // polled until the receipt was found, once per poll rather than once per waiter
+        assertThat(service.polls.get(transactionId.toString()).get()).isEqualTo(4);
+        assertThat(tracker.getPendingCount()).isZero();
+    }
+
+    @Test
+    void failedReceiptCompletesTheWaiter() throws Exception {
+        var transactionId = TransactionId.generate(new AccountId(1001));
+        service.receiptStatus = ResponseCodeEnum.INSUFFICIENT_PAYER_BALANCE;
+
+        var receipt = tracker.track(transactionId, nodeId).get(5, TimeUnit.SECONDS);
+
+        assertThat(receipt.status).isEqualTo(Status.INSUFFICIENT_PAYER_BALANCE);
+        assertThat(service.polls.get(transactionId.toString()).get()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingEndsAtTheDeadlineRatherThanTheNextPoll() {
+        server.client.setRequestTimeout(Duration.ofMillis(200));
+        service.pollsUntilConsensus = Integer.MAX_VALUE;
+
+        // the next poll would be an hour away, long after the receipt's deadline
+        var slowTracker = new ReceiptTracker(server.client, Duration.ZERO, Duration.ofHours(1), 2);
+
+        var receipt = slowTracker.track(TransactionId.generate(new AccountId(1001)), nodeId);
+
+        assertThatThrownBy(() -> receipt.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(slowTracker.getPendingCount()).isZero();
+
+        assertThatThrownBy(() -> slowTracker.await(TransactionId.generate(new AccountId(1001)), nodeId))
+            .isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void receiptTrackingCanBeToggled() {
+        assertThat(server.client.isReceiptTrackingEnabled()).isFalse();
+        assertThat(server.client.setReceiptTracking(true).getReceiptTracker()).isNotNull();
+        assertThat(server.client.setReceiptTracking(false).getReceiptTracker()).isNull();
+    }
+
+    private static class ReceiptService extends CryptoServiceGrpc.CryptoServiceImplBase {
+        final ConcurrentHashMap<String, AtomicInteger> polls = new ConcurrentHashMap<>();
+
+        volatile int pollsUntilConsensus = 0;
+        volatile ResponseCodeEnum receiptStatus = ResponseCodeEnum.SUCCESS;
+
+        @Override
+        public void getTransactionReceipts(Query request, StreamObserver<Response> responseObserver) {
+            var transactionId = TransactionId.fromProtobuf(request.getTransactionGetReceipt().getTransactionID());
+            var poll = polls.computeIfAbsent(transactionId.toString(), id -> new AtomicInteger()).incrementAndGet();
+
+            var receipt = com.hedera.hashgraph.sdk.proto.TransactionReceipt.newBuilder()
+                .setStatus(poll > pollsUntilConsensus ? receiptStatus : ResponseCodeEnum.UNKNOWN);
+
+            responseObserver.onNext(Response.newBuilder()
+                .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                    .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                    .setReceipt(receipt))
+                .build());
+            responseObserver.onCompleted();
+        }
+    }
+}
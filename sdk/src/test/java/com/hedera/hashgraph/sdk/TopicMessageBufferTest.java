@@ -0,0 +1,86 @@
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TopicMessageBufferTest {
+    // runs tasks only when asked to, so the consumer falls behind on demand
+    final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    final List<Long> received = new ArrayList<>();
+    final List<Throwable> errors = new ArrayList<>();
+
+    @Test
+    void dropOldestKeepsTheNewestMessages() {
+        var buffer = newBuffer(2, BackpressureStrategy.DROP_OLDEST);
+
+        for (long i = 1; i <= 4; i++) {
+            assertThat(buffer.add(message(i))).isTrue();
+        }
+        runTasks();
+
+        assertThat(received).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void errorStopsTakingMessagesWhenFull() {
+        var buffer = newBuffer(1, BackpressureStrategy.ERROR);
+
+        assertThat(buffer.add(message(1))).isTrue();
+        assertThat(buffer.add(message(2))).isFalse();
+        runTasks();
+
+        assertThat(received).containsExactly(1L);
+    }
+
+    @Test
+    void completesAfterTheLastMessage() {
+        var buffer = newBuffer(4, BackpressureStrategy.BLOCK);
+        var complete = new AtomicBoolean();
+
+        buffer.add(message(1));
+        buffer.add(message(2));
+        buffer.complete(() -> {
+            assertThat(received).containsExactly(1L, 2L);
+            complete.set(true);
+        });
+        runTasks();
+
+        assertThat(complete).isTrue();
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    void consumerErrorsGoToTheErrorHandler() {
+        var buffer = new TopicMessageBuffer(4, BackpressureStrategy.BLOCK, tasks::add, message -> {
+            throw new RuntimeException("consumer failed");
+        }, (error, message) -> errors.add(error));
+
+        buffer.add(message(1));
+        buffer.add(message(2));
+        runTasks();
+
+        assertThat(errors).hasSize(2);
+    }
+
+    private TopicMessageBuffer newBuffer(int size, BackpressureStrategy strategy) {
+        return new TopicMessageBuffer(size, strategy, tasks::add, message -> received.add(message.sequenceNumber),
+            (error, message) -> errors.add(error));
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+
+    private static TopicMessage message(long sequenceNumber) {
+        return TopicMessage.ofSingle(ConsensusTopicResponse.newBuilder().setSequenceNumber(sequenceNumber).build());
+    }
+}
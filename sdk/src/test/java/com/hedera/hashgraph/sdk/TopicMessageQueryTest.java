@@ -29,17 +29,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 import org.threeten.bp.Duration;
 import org.threeten.bp.Instant;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -208,6 +214,79 @@ class TopicMessageQueryTest {
             .contains(1L, 2L);
     }
 
+    @Test
+    @Timeout(3)
+    void subscribeBuffered() {
+        var executor = Executors.newSingleThreadExecutor();
+        var consumerThreads = Collections.synchronizedSet(new HashSet<String>());
+        var messages = Collections.synchronizedList(new ArrayList<TopicMessage>());
+
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response(1L));
+        consensusServiceStub.responses.add(response(2L));
+        consensusServiceStub.responses.add(response(3L));
+        topicMessageQuery.setBufferSize(1).setExecutor(executor);
+
+        subscribeToMirror(message -> {
+            consumerThreads.add(Thread.currentThread().getName());
+            Uninterruptibles.sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
+            messages.add(message);
+        });
+        executor.shutdown();
+
+        // completion waits for the consumer to take every message
+        assertThat(complete).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(messages).hasSize(3).extracting(t -> t.sequenceNumber).containsExactly(1L, 2L, 3L);
+        assertThat(consumerThreads).hasSize(1);
+    }
+
+    @Test
+    @Timeout(5)
+    void subscribeBufferedOnTheClientExecutor() throws Exception {
+        // one thread runs both the stream callbacks and the consumer, so a callback waiting for room would stall both
+        var executor = Executors.newSingleThreadExecutor();
+        client.close();
+        client = new Client(
+            executor,
+            Network.forNetwork(executor, Collections.emptyMap()),
+            MirrorNetwork.forNetwork(executor, List.of("in-process:test"))
+        );
+
+        var messages = Collections.synchronizedList(new ArrayList<TopicMessage>());
+
+        consensusServiceStub.requests.add(request().build());
+        for (long i = 1; i <= 5; i++) {
+            consensusServiceStub.responses.add(response(i));
+        }
+        topicMessageQuery.setBufferSize(1);
+
+        subscribeToMirror(message -> {
+            Uninterruptibles.sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
+            messages.add(message);
+        });
+
+        assertThat(complete).isTrue();
+        assertThat(errors).isEmpty();
+        assertThat(messages).hasSize(5).extracting(t -> t.sequenceNumber).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @Timeout(5)
+    void bufferOverflowIsReportedOnce() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response(1L));
+        consensusServiceStub.responses.add(response(2L));
+        consensusServiceStub.responses.add(response(3L));
+        topicMessageQuery.setBufferSize(1).setBackpressureStrategy(BackpressureStrategy.ERROR);
+
+        subscribeToMirror(message -> Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS));
+
+        // the call closing after the overflow cancelled it is not a second error
+        Uninterruptibles.sleepUninterruptibly(300, TimeUnit.MILLISECONDS);
+        assertThat(errors).hasSize(1).first().isInstanceOf(IllegalStateException.class);
+    }
+
     @Test
     @Timeout(3)
     void subscribeNoResponse() {
@@ -335,6 +414,129 @@ class TopicMessageQueryTest {
             .isEqualTo(Status.RESOURCE_EXHAUSTED);
     }
 
+    @Test
+    @Timeout(3)
+    void retryMovesToAnotherMirrorNode() throws Exception {
+        var otherStub = new ConsensusServiceStub(consensusServiceStub);
+        var otherServer = InProcessServerBuilder.forName("test2")
+            .addService(otherStub)
+            .directExecutor()
+            .build()
+            .start();
+
+        try {
+            client.setMirrorNetwork(List.of("in-process:test", "in-process:test2"));
+            consensusServiceStub.requests.add(request().build());
+            consensusServiceStub.requests.add(request().build());
+            consensusServiceStub.responses.add(Status.UNAVAILABLE.asRuntimeException());
+            consensusServiceStub.responses.add(response(1L));
+
+            subscribeToMirror(received::add);
+
+            assertThat(received).hasSize(1).extracting(t -> t.sequenceNumber).containsExactly(1L);
+            assertThat(errors).isEmpty();
+            assertThat(consensusServiceStub.calls).hasValue(1);
+            assertThat(otherStub.calls).hasValue(1);
+        } finally {
+            otherServer.shutdown();
+            otherServer.awaitTermination();
+        }
+    }
+
+    @Test
+    @Timeout(3)
+    void unsubscribeWhileWaitingToRetry() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(Status.UNAVAILABLE.asRuntimeException());
+
+        var subscriptionHandle = topicMessageQuery.subscribe(client, received::add);
+        awaitUntil(() -> consensusServiceStub.calls.get() == 1);
+        subscriptionHandle.unsubscribe();
+
+        // longer than the backoff of the first retry
+        Uninterruptibles.sleepUninterruptibly(700, TimeUnit.MILLISECONDS);
+        assertThat(consensusServiceStub.calls).hasValue(1);
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherHonorsDemand() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response(1L));
+        consensusServiceStub.responses.add(response(2L));
+        consensusServiceStub.responses.add(response(3L));
+        var subscriber = new TestSubscriber();
+
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+        subscriber.request(1);
+        awaitUntil(() -> subscriber.messages.size() == 1);
+
+        // the rest of the stream waits for more demand
+        Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+        assertThat(subscriber.messages).hasSize(1);
+        assertThat(subscriber.complete).isFalse();
+
+        subscriber.request(2);
+        awaitUntil(subscriber.complete::get);
+
+        assertThat(subscriber.errors).isEmpty();
+        assertThat(subscriber.messages).extracting(t -> t.sequenceNumber).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherChunked() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response(1L, 2));
+        consensusServiceStub.responses.add(response(2L, 2));
+        var subscriber = new TestSubscriber();
+
+        // a chunk doesn't use up the demand for a message
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+        subscriber.request(1);
+        awaitUntil(subscriber.complete::get);
+
+        assertThat(subscriber.errors).isEmpty();
+        assertThat(subscriber.messages).hasSize(1).first().returns(2L, t -> t.sequenceNumber);
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherRetryRecovers() {
+        ConsensusTopicResponse response = response(1L);
+        Instant nextTimestamp = toInstant(response.getConsensusTimestamp()).plusNanos(1L);
+        ConsensusTopicQuery.Builder request = request();
+
+        consensusServiceStub.requests.add(request.build());
+        consensusServiceStub.requests.add(request.setConsensusStartTime(toTimestamp(nextTimestamp)).build());
+        consensusServiceStub.responses.add(response);
+        consensusServiceStub.responses.add(Status.UNAVAILABLE.asRuntimeException());
+        consensusServiceStub.responses.add(response(2L));
+        var subscriber = new TestSubscriber();
+
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        awaitUntil(subscriber.complete::get);
+
+        assertThat(subscriber.errors).isEmpty();
+        assertThat(subscriber.messages).extracting(t -> t.sequenceNumber).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherInvalidRequest() {
+        // the call may be cancelled before the mirror node sees it
+        var subscriber = new TestSubscriber();
+
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+        subscriber.request(0);
+        awaitUntil(() -> !subscriber.errors.isEmpty());
+
+        assertThat(subscriber.messages).isEmpty();
+        assertThat(subscriber.complete).isFalse();
+        assertThat(subscriber.errors).hasSize(1).first().isInstanceOf(IllegalArgumentException.class);
+    }
+
     private void subscribeToMirror(Consumer<TopicMessage> onNext) {
         SubscriptionHandle subscriptionHandle = topicMessageQuery.subscribe(client, onNext);
         Stopwatch stopwatch = Stopwatch.createStarted();
@@ -346,6 +548,14 @@ class TopicMessageQueryTest {
         subscriptionHandle.unsubscribe();
     }
 
+    private static void awaitUntil(BooleanSupplier condition) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        while (!condition.getAsBoolean() && stopwatch.elapsed(TimeUnit.SECONDS) < 3) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+    }
+
     static private ConsensusTopicQuery.Builder request() {
         return ConsensusTopicQuery.newBuilder()
             .setConsensusEndTime(toTimestamp(START_TIME.plusSeconds(100L)))
@@ -393,14 +603,58 @@ class TopicMessageQueryTest {
             .build();
     }
 
+    private static class TestSubscriber implements Subscriber<TopicMessage> {
+        final List<TopicMessage> messages = Collections.synchronizedList(new ArrayList<>());
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        final AtomicBoolean complete = new AtomicBoolean(false);
+        volatile Subscription subscription;
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(TopicMessage topicMessage) {
+            messages.add(topicMessage);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            errors.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            complete.set(true);
+        }
+    }
+
     private static class ConsensusServiceStub extends ConsensusServiceGrpc.ConsensusServiceImplBase {
 
-        private final Queue<ConsensusTopicQuery> requests = new ArrayDeque<>();
-        private final Queue<Object> responses = new ArrayDeque<>();
+        private final Queue<ConsensusTopicQuery> requests;
+        private final Queue<Object> responses;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        ConsensusServiceStub() {
+            requests = new ArrayDeque<>();
+            responses = new ArrayDeque<>();
+        }
+
+        // another mirror node, answering from the same requests and responses
+        ConsensusServiceStub(ConsensusServiceStub other) {
+            requests = other.requests;
+            responses = other.responses;
+        }
 
         @Override
         public void subscribeTopic(ConsensusTopicQuery consensusTopicQuery,
                                    StreamObserver<ConsensusTopicResponse> streamObserver) {
+            calls.incrementAndGet();
             var request = requests.poll();
             assertThat(request).isNotNull();
             assertThat(consensusTopicQuery).isEqualTo(request);
@@ -0,0 +1,183 @@
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.threeten.bp.Duration;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TopicMessageSubmitTransactionTest {
+    // five chunks of 1024 bytes
+    static final String MESSAGE = "a".repeat(5000);
+
+    ConsensusService service;
+    TestServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ConsensusService();
+        server = new TestServer("topicMessageSubmit", service);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+        service.scheduler.shutdownNow();
+    }
+
+    @Test
+    void chunksAreSentOneAtATimeByDefault() throws Exception {
+        var responses = newTransaction().executeAll(server.client);
+
+        assertThat(responses).hasSize(5);
+        assertThat(service.maxInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    void chunksArePipelined() throws Exception {
+        var transaction = newTransaction().setMaxChunksInFlight(3);
+        var responses = transaction.executeAll(server.client);
+
+        assertThat(service.maxInFlight.get()).isBetween(2, 3);
+        assertThat(service.chunks).hasSize(5);
+
+        // the responses are in chunk order, each for the chunk it was sent with
+        for (var i = 0; i < responses.size(); i++) {
+            assertThat(service.chunks.get(responses.get(i).transactionId)).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    void pipelinedChunksUseTheGrpcDeadline() {
+        // the service answers after 50 ms, so every chunk runs out of time, and isn't sent again
+        var transaction = newTransaction()
+            .setMaxChunksInFlight(3)
+            .setGrpcDeadline(Duration.ofMillis(10));
+
+        assertThatThrownBy(() -> transaction.executeAll(server.client)).isInstanceOf(TransactionTimeoutException.class);
+    }
+
+    @Test
+    void chunkSizeCanBeSet() {
+        var transaction = newTransaction()
+            .setChunkSize(4096)
+            .setNodeAccountIds(Collections.singletonList(new AccountId(3)))
+            .setTransactionId(TransactionId.generate(new AccountId(1001)))
+            .freeze();
+
+        assertThat(transaction.transactionIds).hasSize(2);
+        assertThatThrownBy(() -> newTransaction().setChunkSize(7000)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void chunkSizeMustLeaveRoomForTheTransaction() {
+        var transaction = newTransaction()
+            .setChunkSize(6100)
+            .setNodeAccountIds(Collections.singletonList(new AccountId(3)))
+            .setTransactionId(TransactionId.generate(new AccountId(1001)));
+
+        assertThatThrownBy(transaction::freeze).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void adaptiveChunkSizeAppliesToScheduling() {
+        var message = "a".repeat(3000);
+
+        // one chunk of 1024 bytes can't hold the message, but a fitted chunk can
+        assertThatThrownBy(() -> new TopicMessageSubmitTransaction()
+            .setTopicId(new TopicId(40))
+            .setMessage(message)
+            .schedule()
+        ).isInstanceOf(IllegalStateException.class);
+
+        var scheduled = new TopicMessageSubmitTransaction()
+            .setTopicId(new TopicId(40))
+            .setMessage(message)
+            .setAdaptiveChunkSize(2)
+            .schedule();
+
+        assertThat(scheduled).isNotNull();
+    }
+
+    @Test
+    void adaptiveChunksFitTheTransactionLimit() {
+        var keys = List.of(PrivateKey.generate(), PrivateKey.generate(), PrivateKey.generate());
+
+        var transaction = new TopicMessageSubmitTransaction()
+            .setTopicId(new TopicId(40))
+            .setMessage("a".repeat(12000))
+            .setAdaptiveChunkSize(keys.size())
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(1000000)))
+            .setTransactionId(TransactionId.generate(new AccountId(1001)))
+            .freeze();
+
+        for (var key : keys) {
+            transaction.sign(key);
+        }
+
+        // 12 chunks of 1024 bytes, but only 3 once each carries as much as fits
+        assertThat(transaction.getChunkSize()).isGreaterThan(5000);
+        assertThat(transaction.transactionIds).hasSize(3);
+
+        transaction.buildAllTransactions();
+        for (var outer : transaction.outerTransactions) {
+            assertThat(outer.getSerializedSize()).isLessThanOrEqualTo(ChunkedTransaction.MAX_TRANSACTION_SIZE);
+        }
+    }
+
+    private static TopicMessageSubmitTransaction newTransaction() {
+        return new TopicMessageSubmitTransaction()
+            .setTopicId(new TopicId(40))
+            .setMessage(MESSAGE);
+    }
+
+    private static class ConsensusService extends ConsensusServiceGrpc.ConsensusServiceImplBase {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final ConcurrentHashMap<TransactionId, Integer> chunks = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public void submitMessage(Transaction request, StreamObserver<TransactionResponse> responseObserver) {
+            var current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+
+            try {
+                var body = TransactionBody.parseFrom(
+                    SignedTransaction.parseFrom(request.getSignedTransactionBytes()).getBodyBytes());
+                chunks.put(
+                    TransactionId.fromProtobuf(body.getTransactionID()),
+                    body.getConsensusSubmitMessage().getChunkInfo().getNumber());
+            } catch (Exception e) {
+                responseObserver.onError(e);
+                return;
+            }
+
+            // answer later, so a chunk sent without waiting for this one overlaps it
+            scheduler.schedule(() -> {
+                inFlight.decrementAndGet();
+                responseObserver.onNext(TransactionResponse.newBuilder()
+                    .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                    .build());
+                responseObserver.onCompleted();
+            }, 50, TimeUnit.MILLISECONDS);
+        }
+    }
+}
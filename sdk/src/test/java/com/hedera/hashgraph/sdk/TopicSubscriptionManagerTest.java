@@ -0,0 +1,142 @@
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.threeten.bp.Duration;
+import org.threeten.bp.Instant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TopicSubscriptionManagerTest {
+    private static final Instant START_TIME = Instant.now().minusSeconds(60);
+
+    ConsensusService service;
+    TestServer server;
+    TopicSubscriptionManager manager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ConsensusService();
+        server = new TestServer("topicSubscriptionManager", service);
+        server.client.setMirrorNetwork(List.of("in-process:topicSubscriptionManager"));
+        manager = new TopicSubscriptionManager(server.client);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        manager.unsubscribeAll();
+        server.close();
+    }
+
+    @Test
+    @Timeout(3)
+    void streamsAreCappedPerChannel() {
+        manager.setMaxStreamsPerChannel(2);
+
+        var handles = new ArrayList<SubscriptionHandle>();
+        for (int i = 0; i < 5; i++) {
+            handles.add(manager.subscribe(newQuery(), message -> {
+            }));
+        }
+
+        awaitUntil(() -> handles.stream().allMatch(handle -> handle.getLastConsensusTimestamp() != null));
+
+        var node = server.client.mirrorNetwork.getNodesSnapshot().get(0);
+        assertThat(node.getChannelCount()).isEqualTo(3);
+        assertThat(manager.getSubscriptions()).hasSize(5);
+        assertThat(handles.get(0).getLag()).isGreaterThanOrEqualTo(Duration.ofSeconds(59));
+
+        handles.get(0).unsubscribe();
+
+        assertThat(manager.getSubscriptions()).hasSize(4);
+    }
+
+    @Test
+    @Timeout(3)
+    void reconnectResumesFromLastMessage() {
+        service.failures = 1;
+        service.complete = true;
+        var received = Collections.synchronizedList(new ArrayList<TopicMessage>());
+
+        var handle = manager.subscribe(newQuery(), received::add);
+        awaitUntil(() -> received.size() == 2 && manager.getSubscriptions().isEmpty());
+
+        assertThat(received).extracting(t -> t.sequenceNumber).containsExactly(1L, 2L);
+        assertThat(service.requests).hasSize(2);
+        assertThat(service.requests.get(1).getConsensusStartTime())
+            .isEqualTo(toTimestamp(START_TIME.plusSeconds(1).plusNanos(1)));
+        assertThat(handle.getLastConsensusTimestamp()).isEqualTo(START_TIME.plusSeconds(2));
+    }
+
+    private static TopicMessageQuery newQuery() {
+        return new TopicMessageQuery()
+            .setTopicId(new TopicId(1000))
+            .setStartTime(START_TIME)
+            .setMaxBackoff(Duration.ofMillis(500))
+            .setErrorHandler((t, message) -> {
+            });
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        while (!condition.getAsBoolean() && stopwatch.elapsed(TimeUnit.SECONDS) < 3) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder()
+            .setSeconds(instant.getEpochSecond())
+            .setNanos(instant.getNano())
+            .build();
+    }
+
+    private static class ConsensusService extends ConsensusServiceGrpc.ConsensusServiceImplBase {
+        final List<ConsensusTopicQuery> requests = Collections.synchronizedList(new ArrayList<>());
+
+        // the number of streams to fail after their first message
+        volatile int failures = 0;
+
+        // whether the streams which don't fail complete after their first message, or stay open
+        volatile boolean complete = false;
+
+        @Override
+        public void subscribeTopic(ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> responseObserver) {
+            requests.add(request);
+
+            var sequenceNumber = requests.size();
+            var consensusTimestamp = START_TIME.plusSeconds(sequenceNumber);
+
+            responseObserver.onNext(ConsensusTopicResponse.newBuilder()
+                .setConsensusTimestamp(toTimestamp(consensusTimestamp))
+                .setSequenceNumber(sequenceNumber)
+                .setMessage(ByteString.copyFromUtf8("message"))
+                .setRunningHash(ByteString.copyFromUtf8("hash"))
+                .build());
+
+            if (sequenceNumber <= failures) {
+                responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+            } else if (complete) {
+                responseObserver.onCompleted();
+            }
+        }
+    }
+}
@@ -2,8 +2,17 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import org.bouncycastle.util.encoders.Hex;
+import java8.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class TransactionTest {
@@ -16,4 +25,218 @@ public class TransactionTest {
         assertEquals(transaction.getHbarTransfers().get(new AccountId(476260)), new Hbar(1).negated());
         assertEquals(transaction.getHbarTransfers().get(new AccountId(476267)), new Hbar(1));
     }
+
+    @Test
+    void prepareAllFreezesSignsAndBuildsEveryTransaction() throws TimeoutException {
+        var operatorKey = PrivateKey.generate();
+        var otherKey = PrivateKey.generate();
+        var client = Client.forNetwork(Map.of(
+            "127.0.0.1:50211", new AccountId(3),
+            "127.0.0.1:50212", new AccountId(4),
+            "127.0.0.1:50213", new AccountId(5)
+        )).setOperator(new AccountId(1001), operatorKey);
+        client.setMaxNodesPerTransaction(3);
+
+        var transactions = new ArrayList<TransferTransaction>();
+        for (int i = 0; i < 100; i++) {
+            transactions.add(new TransferTransaction()
+                .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+                .addHbarTransfer(new AccountId(1002), new Hbar(1)));
+        }
+
+        assertThat(Transaction.prepareAll(client, transactions, List.of(otherKey))).isSameAs(transactions);
+
+        for (var transaction : transactions) {
+            assertThat(transaction.isFrozen()).isTrue();
+            assertThat(transaction.outerTransactions).hasSize(3).doesNotContainNull();
+
+            for (var signatures : transaction.getSignatures().values()) {
+                assertThat(signatures).containsOnlyKeys(operatorKey.getPublicKey(), otherKey.getPublicKey());
+            }
+        }
+
+        client.close();
+    }
+
+    @Test
+    void signWithBatchSignsEveryNodeInOneCall() {
+        var key = PrivateKey.generate();
+        var calls = new AtomicInteger();
+        var client = Client.forNetwork(Map.of(
+            "127.0.0.1:50211", new AccountId(3),
+            "127.0.0.1:50212", new AccountId(4),
+            "127.0.0.1:50213", new AccountId(5)
+        )).setOperator(new AccountId(1001), PrivateKey.generate());
+        client.setMaxNodesPerTransaction(3);
+
+        var transaction = new TransferTransaction()
+            .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+            .addHbarTransfer(new AccountId(1002), new Hbar(1))
+            .freezeWith(client)
+            .signWithBatch(key.getPublicKey(), messages -> {
+                calls.incrementAndGet();
+                return CompletableFuture.completedFuture(signAll(key, messages));
+            });
+
+        for (var signatures : transaction.getSignatures().values()) {
+            assertThat(signatures).containsKey(key.getPublicKey());
+        }
+        assertThat(transaction.getSignatures()).hasSize(3);
+        assertThat(calls.get()).isEqualTo(1);
+
+        client.close();
+    }
+
+    @Test
+    void signAllWithBatchSignsEveryTransactionInOneCall() {
+        var key = PrivateKey.generate();
+        var calls = new AtomicInteger();
+        var messageCount = new AtomicInteger();
+
+        var transactions = new ArrayList<TransferTransaction>();
+        for (int i = 0; i < 10; i++) {
+            transactions.add(new TransferTransaction()
+                .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)))
+                .setTransactionId(TransactionId.generate(new AccountId(1001)))
+                .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+                .addHbarTransfer(new AccountId(1002), new Hbar(1))
+                .freeze());
+        }
+
+        Transaction.signAllWithBatch(transactions, key.getPublicKey(), messages -> {
+            calls.incrementAndGet();
+            messageCount.addAndGet(messages.size());
+            return CompletableFuture.completedFuture(signAll(key, messages));
+        }).join();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(messageCount.get()).isEqualTo(20);
+
+        for (var transaction : transactions) {
+            for (var signatures : transaction.getSignatures().values()) {
+                assertThat(signatures).containsOnlyKeys(key.getPublicKey());
+            }
+        }
+
+        // already signed, so the signer isn't called again
+        Transaction.signAllWithBatch(transactions, key.getPublicKey(), messages -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(signAll(key, messages));
+        }).join();
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentBatchSigningSharesTheSignerCall() {
+        var key = PrivateKey.generate();
+        var calls = new AtomicInteger();
+        var pending = new CompletableFuture<List<byte[]>>();
+        var messagesToSign = new ArrayList<byte[]>();
+
+        var transaction = new TransferTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)))
+            .setTransactionId(TransactionId.generate(new AccountId(1001)))
+            .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+            .addHbarTransfer(new AccountId(1002), new Hbar(1))
+            .freeze()
+            .signWithBatch(key.getPublicKey(), messages -> {
+                calls.incrementAndGet();
+                messagesToSign.addAll(messages);
+                return pending;
+            });
+
+        var first = transaction.signWithBatchSignersAsync();
+        var second = transaction.signWithBatchSignersAsync();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(second.isDone()).isFalse();
+
+        pending.complete(signAll(key, messagesToSign));
+        first.join();
+        second.join();
+
+        for (var signatures : transaction.getSignatures().values()) {
+            assertThat(signatures).containsOnlyKeys(key.getPublicKey());
+        }
+        for (var sigPairList : transaction.sigPairLists) {
+            assertThat(sigPairList.getSigPairCount()).isEqualTo(1);
+        }
+
+        // signed now, so a later trigger doesn't call the signer either
+        transaction.signWithBatchSignersAsync().join();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void batchSigningAfterAFailureCallsTheSignerAgain() {
+        var key = PrivateKey.generate();
+        var calls = new AtomicInteger();
+
+        var transaction = new TransferTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)))
+            .setTransactionId(TransactionId.generate(new AccountId(1001)))
+            .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+            .addHbarTransfer(new AccountId(1002), new Hbar(1))
+            .freeze()
+            .signWithBatch(key.getPublicKey(), messages -> calls.incrementAndGet() == 1
+                ? CompletableFuture.<List<byte[]>>failedFuture(new IllegalStateException("signer unavailable"))
+                : CompletableFuture.completedFuture(signAll(key, messages)));
+
+        assertThatThrownBy(transaction.signWithBatchSignersAsync()::join)
+            .hasRootCauseInstanceOf(IllegalStateException.class);
+
+        transaction.signWithBatchSignersAsync().join();
+
+        assertThat(calls.get()).isEqualTo(2);
+        for (var signatures : transaction.getSignatures().values()) {
+            assertThat(signatures).containsOnlyKeys(key.getPublicKey());
+        }
+    }
+
+    @Test
+    void signAllWithBatchFailsOnWrongSignatureCount() {
+        var key = PrivateKey.generate();
+
+        var transaction = new TransferTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)))
+            .setTransactionId(TransactionId.generate(new AccountId(1001)))
+            .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+            .addHbarTransfer(new AccountId(1002), new Hbar(1))
+            .freeze();
+
+        var future = Transaction.signAllWithBatch(List.of(transaction), key.getPublicKey(), messages ->
+            CompletableFuture.completedFuture(signAll(key, messages.subList(0, 1))));
+
+        assertThatThrownBy(future::join).hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void signingWithTheSameKeyTwiceSignsOnce() throws InvalidProtocolBufferException {
+        var key = PrivateKey.generate();
+
+        var transaction = new TransferTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4)))
+            .setTransactionId(TransactionId.generate(new AccountId(1001)))
+            .addHbarTransfer(new AccountId(1001), new Hbar(1).negated())
+            .addHbarTransfer(new AccountId(1002), new Hbar(1))
+            .freeze()
+            .sign(key)
+            .sign(PrivateKey.fromBytes(key.toBytes()));
+
+        var restored = Transaction.fromBytes(transaction.toBytes()).sign(key);
+
+        for (var signatures : restored.getSignatures().values()) {
+            assertThat(signatures).containsOnlyKeys(key.getPublicKey());
+        }
+        assertThat(restored.publicKeys).hasSize(1);
+    }
+
+    private static List<byte[]> signAll(PrivateKey key, List<byte[]> messages) {
+        var signatures = new ArrayList<byte[]>(messages.size());
+        for (var message : messages) {
+            signatures.add(key.sign(message));
+        }
+        return signatures;
+    }
 }